@@ -0,0 +1,31 @@
+package benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+
+/*
+Starts JavaFX once per benchmark process, without a display, for the benchmarks whose code plays animations. The
+benchmarks themselves run on their own threads, on nodes that are not in a shown scene.
+ */
+public final class Toolkit {
+
+    private static boolean started = false;
+
+    private Toolkit() {
+    }
+
+    public static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        latch.await();
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+}
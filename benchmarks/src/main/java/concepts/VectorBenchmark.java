@@ -0,0 +1,50 @@
+package concepts;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+The vector operations used for positions and placement: in place, and through a copy as RoomStreamer lays out the
+rooms, which allocates a vector per step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+
+    private final Vector position = new Vector(100, 0, -250);
+    private final Vector velocity = new Vector(3, 0, 4);
+    private double scale = 0.5;
+
+    @Benchmark
+    public Vector addInPlace() {
+        return position.add(velocity);
+    }
+
+    @Benchmark
+    public Vector scaledStepInPlace() {
+        return position.add(velocity.getX() * scale, velocity.getY() * scale, velocity.getZ() * scale);
+    }
+
+    @Benchmark
+    public Vector scaledStepThroughCopy() {
+        return position.add(velocity.duplicate().scalarMultiply(scale));
+    }
+
+    @Benchmark
+    public Vector setFromOther() {
+        return position.set(velocity);
+    }
+
+}
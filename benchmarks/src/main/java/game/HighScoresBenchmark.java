@@ -0,0 +1,57 @@
+package game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+Adding a high score, which sorts the table and writes it to its file. The file is in the working directory, as in the
+game, so a file that was already there is put back afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoresBenchmark {
+
+    private final Path file = Paths.get(HighScores.HIGHSCORES_FILENAME);
+    private byte[] previousFile;
+    private HighScores highScores;
+    private int points;
+
+    @Setup
+    public void setup() throws IOException {
+        previousFile = Files.exists(file) ? Files.readAllBytes(file) : null;
+        highScores = HighScores.getInstance();
+    }
+
+    @TearDown
+    public void restore() throws IOException {
+        if (previousFile != null) {
+            Files.write(file, previousFile);
+        } else {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void addAndExport() {
+        highScores.add("benchmark", points++, points % 2 == 0);
+    }
+
+}
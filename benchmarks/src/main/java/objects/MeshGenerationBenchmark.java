@@ -0,0 +1,83 @@
+package objects;
+
+import concepts.Vector;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.shape.TriangleMesh;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.EntityStore;
+
+/*
+Building the procedural meshes: the spikes of a whole floor of the default room with spikes, as FloorWithSpikes builds
+them, and the shared meshes of hearts and pictures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeshGenerationBenchmark {
+
+    private static final int TILES_X = 4;
+    private static final int TILES_Z = 5;
+    private static final double FLOOR_WIDTH = 3_000;
+    private static final double FLOOR_LENGTH = 3_500;
+
+    private Spikes[] spikes;
+    private int spikeCount;
+
+    @Setup
+    public void setup() {
+        EntityStore store = new EntityStore(0, 0, 0);
+        final double tileWidth = FLOOR_WIDTH / TILES_X;
+        final double tileLength = FLOOR_LENGTH / TILES_Z;
+        spikes = new Spikes[TILES_X * TILES_Z];
+        for (int t = 0; t < spikes.length; t++) {
+            final double x = -FLOOR_WIDTH / 2 + tileWidth / 2 + (t / TILES_Z) * tileWidth;
+            final double z = -FLOOR_LENGTH / 2 + tileLength / 2 + (t % TILES_Z) * tileLength;
+            spikes[t] = new Spikes(new Vector(x, 0, z), tileWidth, tileLength, null, store);
+            spikeCount += spikes[t].getSpikeCount();
+        }
+    }
+
+    @Benchmark
+    public TriangleMesh spikesFloor() {
+        float[] points = new float[spikeCount * Spikes.POINTS_PER_SPIKE * 3];
+        int[] faces = new int[spikeCount * Spikes.FACES_PER_SPIKE * 6];
+        int pointIndex = 0;
+        int faceIndex = 0;
+        for (Spikes s : spikes) {
+            s.writePoints(points, pointIndex * 3, s.getPosition().getX(), s.getPosition().getY(), s.getPosition().getZ());
+            for (int k = 0; k < s.getSpikeCount(); k++) {
+                Spikes.writeFaces(faces, faceIndex, pointIndex);
+                pointIndex += Spikes.POINTS_PER_SPIKE;
+                faceIndex += Spikes.FACES_PER_SPIKE * 6;
+            }
+        }
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().setAll(points);
+        mesh.getTexCoords().setAll(Spikes.TEX_COORDS);
+        mesh.getFaces().setAll(faces);
+        return mesh;
+    }
+
+    @Benchmark
+    public TriangleMesh halfHeart() {
+        return Heart.createHalfHeartMesh();
+    }
+
+    @Benchmark
+    public TriangleMesh picture() {
+        return Picture.createPictureMesh();
+    }
+
+}
@@ -0,0 +1,68 @@
+package objects;
+
+import benchmarks.Toolkit;
+import concepts.CollectibleObject;
+import concepts.Vector;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Group;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.TileStates;
+
+/*
+Placing a coin on a random free tile of a nearly full floor and collecting it again, so the floor stays as full. All
+but a few tiles are occupied before measuring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TilePopulationBenchmark {
+
+    private static final double TILE_SIZE = 500;
+
+    @Param({"6", "32"})
+    public int tilesPerSide;
+
+    @Param({"1", "4"})
+    public int freeTiles;
+
+    private FloorWithTiles floor;
+    private CollectiblePool pool;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        Toolkit.start();
+        floor = new FloorWithTiles(new Vector(0, 0, 0), tilesPerSide * TILE_SIZE, tilesPerSide * TILE_SIZE, tilesPerSide, tilesPerSide);
+        pool = new CollectiblePool(new Group());
+        pool.prefill(1, 0, 0);
+        TileStates tileStates = floor.getTileStates();
+        int occupied = 0;
+        for (int i = 0; i < tilesPerSide && occupied < tilesPerSide * tilesPerSide - freeTiles; i++) {
+            for (int j = 0; j < tilesPerSide && occupied < tilesPerSide * tilesPerSide - freeTiles; j++) {
+                tileStates.occupy(i, j, new Object());
+                ++occupied;
+            }
+        }
+    }
+
+    @Benchmark
+    public CollectibleObject populateAndCollect() {
+        CollectibleObject coin = floor.populateRandomTile(FloorWithTiles.PopulateOption.COIN, null, pool);
+        floor.unpopulateTile(coin);
+        pool.release(coin);
+        return coin;
+    }
+
+}
@@ -0,0 +1,116 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+The collision pass of one tick, as Game does it: pending changes are applied, moving objects are re-registered, the
+objects near the player are queried and tested against its bounds. The objects are spread over the floor of a room, a
+tenth of them move like projectiles, and every tick one object is removed and added again somewhere else, like a
+collectible that is picked up and respawned from its pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionPassBenchmark {
+
+    private static final double ROOM_WIDTH = 3_000;
+    private static final double ROOM_LENGTH = 5_000;
+    private static final double OBJECT_SIZE = 120;
+    private static final double PLAYER_SIZE = 100;
+    private static final double PROJECTILE_STEP = 25;
+    private static final double CELL_SIZE = 500;
+
+    @Param({"10", "100", "1000"})
+    public int objects;
+
+    private static final class Body {
+
+        final Aabb bounds = new Aabb();
+        final boolean moving;
+
+        Body(double x, double z, boolean moving) {
+            this.moving = moving;
+            bounds.set(x, -OBJECT_SIZE, z, x + OBJECT_SIZE, 0, z + OBJECT_SIZE);
+        }
+
+        void placeAt(double x, double z) {
+            bounds.set(x, bounds.getMinY(), z, x + OBJECT_SIZE, bounds.getMaxY(), z + OBJECT_SIZE);
+        }
+
+        void move(double dx) {
+            double x = bounds.getMinX() + dx;
+            if (x > ROOM_WIDTH / 2) {
+                x -= ROOM_WIDTH;
+            }
+            bounds.set(x, bounds.getMinY(), bounds.getMinZ(), x + OBJECT_SIZE, bounds.getMaxY(), bounds.getMaxZ());
+        }
+    }
+
+    private CollisionSet<Body> collisionSet;
+    private Body[] bodies;
+    private final List<Body> candidates = new ArrayList<>();
+    private final Aabb player = new Aabb();
+    private double playerZ;
+    private int churn;
+    private Random respawns;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        collisionSet = new CollisionSet<>(CELL_SIZE, body -> body.bounds);
+        bodies = new Body[objects];
+        for (int i = 0; i < objects; i++) {
+            bodies[i] = new Body(ROOM_WIDTH * (random.nextDouble() - 0.5), ROOM_LENGTH * (random.nextDouble() - 0.5), i % 10 == 0);
+            collisionSet.add(bodies[i], bodies[i].moving);
+        }
+        collisionSet.applyChanges();
+        playerZ = -ROOM_LENGTH / 2;
+        respawns = new Random(7);
+    }
+
+    @Benchmark
+    public int pass() {
+        for (Body body : bodies) {
+            if (body.moving) {
+                body.move(PROJECTILE_STEP);
+            }
+        }
+        final Body removed = bodies[churn];
+        collisionSet.remove(removed);
+        removed.placeAt(ROOM_WIDTH * (respawns.nextDouble() - 0.5), ROOM_LENGTH * (respawns.nextDouble() - 0.5));
+        collisionSet.add(removed, removed.moving);
+        churn = (churn + 1) % bodies.length;
+
+        collisionSet.applyChanges();
+        collisionSet.updateMoving();
+
+        playerZ = playerZ > ROOM_LENGTH / 2 ? -ROOM_LENGTH / 2 : playerZ + 10;   // the player walks along the room
+        player.set(-PLAYER_SIZE / 2, -2 * PLAYER_SIZE, playerZ, PLAYER_SIZE / 2, 0, playerZ + PLAYER_SIZE);
+        collisionSet.query(player, candidates);
+        int hits = 0;
+        for (Body body : candidates) {
+            if (body.bounds.intersects(player)) {
+                ++hits;
+            }
+        }
+        return hits;
+    }
+
+}
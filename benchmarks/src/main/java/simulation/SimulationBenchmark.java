@@ -0,0 +1,83 @@
+package simulation;
+
+import concepts.Vector;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+A whole game run headless by Simulation, from a fixed seed: five rooms with the spikes of RoomWithSpikes, and a player
+that walks up and down a row of tiles of the current room, turning back before marked tiles, until it loses its lives
+or wins. The game takes 13,531 ticks, about 3.8 minutes of play, so the time of a game divided by that is the time of a
+tick of the model: the player, the arena, the tiles, the timers, the entity store and the collision set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    private static final int ROOMS = 5;
+    private static final double ROOM_WIDTH = 3_000;
+    private static final double ROOM_LENGTH = 3_500;   // the tiled part of a RoomWithSpikes
+    private static final double ROOM_DISTANCE = ROOM_LENGTH + 2_700;
+    private static final int TILES_X = 4;
+    private static final int TILES_Z = 5;
+    private static final double LANE_X = -ROOM_WIDTH / 2 + ROOM_WIDTH / TILES_X * 1.5;  // the middle of the second column of tiles
+    private static final double LOOK_AHEAD = 150;
+    private static final double TURN_DISTANCE = 300;   // from the ends of the room
+    private static final long MAX_TICKS = 1_000_000;
+    private static final long SEED = 1;
+
+    private static final double[][] ROOM_EXTENTS = createRoomExtents();
+
+    private static double[][] createRoomExtents() {
+        double[][] extents = new double[ROOMS][];
+        for (int i = 0; i < ROOMS; i++) {
+            extents[i] = new double[]{-ROOM_WIDTH / 2, i * ROOM_DISTANCE, ROOM_WIDTH / 2, i * ROOM_DISTANCE + ROOM_LENGTH};
+        }
+        return extents;
+    }
+
+    @Benchmark
+    public long game() {
+        RandomStream.seedAll(SEED);
+        final Simulation simulation = new Simulation(new Vector(LANE_X, 0, -2 * TURN_DISTANCE), ROOM_EXTENTS, TILES_X, TILES_Z, false);
+        final PlayerModel player = simulation.getPlayer();
+        final ArenaModel arena = simulation.getArena();
+        PlayerModel.Control direction = PlayerModel.Control.FORWARD;
+        player.setControl(direction, true);
+        while (!arena.isOver() && simulation.getTick() < MAX_TICKS) {
+            PlayerModel.Control next = direction;
+            if (!arena.isRoomOngoing()) {   // on to the next room
+                next = PlayerModel.Control.FORWARD;
+            } else {
+                final int room = arena.getCurrentRoomIndex();
+                final boolean forward = direction == PlayerModel.Control.FORWARD;
+                final double z = player.getZ();
+                final double ahead = z + (forward ? LOOK_AHEAD : -LOOK_AHEAD);
+                if ((forward && z > ROOM_EXTENTS[room][3] - TURN_DISTANCE) || (!forward && z < ROOM_EXTENTS[room][1] + TURN_DISTANCE)
+                        || (simulation.isTileActive(LANE_X, ahead) && !simulation.isTileActive(LANE_X, z))) {
+                    next = forward ? PlayerModel.Control.BACKWARD : PlayerModel.Control.FORWARD;
+                }
+            }
+            if (next != direction) {
+                simulation.getInput().control(direction, false);
+                simulation.getInput().control(next, true);
+                direction = next;
+            }
+            simulation.tick();
+        }
+        return simulation.getTick();
+    }
+
+}
@@ -0,0 +1,129 @@
+package concepts;
+
+import javafx.animation.Animation;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.util.Duration;
+
+/*
+A JavaFX animation that takes its time from the game clock instead of the JavaFX pulses. Once started it stays paused
+as far as JavaFX is concerned, which only keeps the values it animates updated when the clock moves it to a position,
+and it is stopped, and its onFinished handler called, by the clock when it reaches its end.
+ */
+public class ClockedAnimation {
+
+    private static final double NANOS_PER_MILLI = 1_000_000;
+
+    private final GameClock clock;
+    private final Animation animation;
+
+    private Animation.Status status = Animation.Status.STOPPED;
+    private double rate = 1;
+    private double startMillis = 0;    // position when it was last started, resumed, moved or had its rate changed
+    private long startNanos;           // time of the clock at that moment
+    private int runningIndex = -1;     // index among the running animations of the clock
+
+    ClockedAnimation(GameClock clock, Animation animation) {
+        this.clock = clock;
+        this.animation = animation;
+    }
+
+    public void play() {
+        if (status == Animation.Status.RUNNING) {
+            return;
+        }
+        if (status == Animation.Status.STOPPED) {
+            animation.playFromStart();  // takes the starting values of the animated properties
+            animation.pause();
+            startMillis = 0;
+        }
+        startNanos = clock.getNanos();
+        status = Animation.Status.RUNNING;
+        clock.add(this);
+    }
+
+    public void playFromStart() {
+        stop();
+        play();
+    }
+
+    public void pause() {
+        if (status == Animation.Status.RUNNING) {
+            startMillis = getMillis(clock.getNanos());
+            status = Animation.Status.PAUSED;
+            clock.remove(this);
+        }
+    }
+
+    public void stop() {
+        if (status == Animation.Status.RUNNING) {
+            clock.remove(this);
+        }
+        if (status != Animation.Status.STOPPED) {
+            status = Animation.Status.STOPPED;
+            animation.stop();
+        }
+    }
+
+    public void jumpTo(Duration time) {    // like the JavaFX method, it changes nothing while stopped
+        if (status != Animation.Status.STOPPED) {
+            startMillis = time.toMillis();
+            startNanos = clock.getNanos();
+            animation.jumpTo(time);
+        }
+    }
+
+    public void setRate(double rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The rate must be positive");
+        }
+        if (status == Animation.Status.RUNNING) {
+            startMillis = getMillis(clock.getNanos());
+            startNanos = clock.getNanos();
+        }
+        this.rate = rate;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Animation.Status getStatus() {
+        return status;
+    }
+
+    public Animation getAnimation() {
+        return animation;
+    }
+
+    void advance(long nanos) {
+        if (status != Animation.Status.RUNNING) {   // stopped by another animation that finished in the same frame
+            return;
+        }
+        final double millis = getMillis(nanos);
+        final Duration total = animation.getTotalDuration();
+        if (total.isIndefinite() || millis < total.toMillis()) {
+            animation.jumpTo(Duration.millis(millis));
+            return;
+        }
+        animation.jumpTo(total);
+        stop();
+        EventHandler<ActionEvent> onFinished = animation.getOnFinished();
+        if (onFinished != null) {
+            onFinished.handle(new ActionEvent(animation, null));
+        }
+    }
+
+    private double getMillis(long nanos) {
+        return startMillis + (nanos - startNanos) / NANOS_PER_MILLI * rate;
+    }
+
+    int getRunningIndex() {
+        return runningIndex;
+    }
+
+    void setRunningIndex(int runningIndex) {
+        this.runningIndex = runningIndex;
+    }
+
+}
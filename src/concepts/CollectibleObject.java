@@ -0,0 +1,41 @@
+package concepts;
+
+import javafx.scene.transform.Rotate;
+
+/*
+A coin, clock or heart. It spins around the vertical axis, and since the spin changes the bounds the player collides
+with, it is turned by the room once per tick rather than by an animation, so it is at the same angle at the same tick
+whatever the frame rate.
+ */
+public abstract class CollectibleObject extends GameObject {
+
+    private static final double ROTATION_TIME = 2;
+
+    private int shownIndex = -1;    // index among the shown objects of its pool, -1 while hidden
+
+    public CollectibleObject(Vector position) {
+        super(position);
+        this.setRotationAxis(Rotate.Y_AXIS);
+    }
+
+    public void spin(double seconds) {
+        this.setRotate((this.getRotate() + 360 * seconds / ROTATION_TIME) % 360);
+    }
+
+    public void show() {
+        this.setVisible(true);
+    }
+
+    public void hide() {
+        this.setVisible(false);
+    }
+
+    public int getShownIndex() {
+        return shownIndex;
+    }
+
+    public void setShownIndex(int shownIndex) {
+        this.shownIndex = shownIndex;
+    }
+
+}
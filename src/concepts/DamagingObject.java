@@ -1,19 +1,63 @@
 package concepts;
 
-public abstract class DamagingObject extends GameObject {
+import simulation.Aabb;
+import simulation.EntityStore;
+
+/*
+A damaging object may keep its state in the entity store of its room instead of its own fields. Its damaging flag is
+then a flag of the entity, and if the entity has a collision shape, the world bounds are taken from the store instead of
+from the transforms of the nodes. Spikes, blades and projectiles all keep their phase and shape there, so what the
+player collides with changes only with the ticks; the game still finds the candidates through the objects, not by going
+through the store.
+ */
+public abstract class DamagingObject extends GameObject implements EntityStore.Owner {
 
     private boolean damaging = true;
 
+    private EntityStore store = null;
+    private int entity = EntityStore.NO_ENTITY;
+    private final Aabb storeBounds = new Aabb();
+
     public DamagingObject(Vector position) {
         super(position);
     }
 
+    protected void addToStore(EntityStore store) {  // the entity starts at the position of this object
+        this.store = store;
+        entity = store.add(this, getPosition().getX(), getPosition().getY(), getPosition().getZ());
+        store.setDamaging(entity, damaging);
+    }
+
     public boolean isDamaging() {
-        return damaging;
+        return store == null ? damaging : store.isDamaging(entity);
     }
 
     public void setDamaging(boolean damaging) {
-        this.damaging = damaging;
+        if (store == null) {
+            this.damaging = damaging;
+        } else {
+            store.setDamaging(entity, damaging);
+        }
+    }
+
+    @Override
+    public Aabb getWorldBounds() {
+        if (store != null && store.hasShape(entity)) {
+            return store.boundsOf(entity, storeBounds);
+        }
+        return super.getWorldBounds();
+    }
+
+    @Override
+    public void sync() {
+    }
+
+    protected EntityStore getStore() {
+        return store;
+    }
+
+    protected int getEntity() {
+        return entity;
     }
 
 }
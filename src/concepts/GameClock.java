@@ -0,0 +1,128 @@
+package concepts;
+
+import java.util.Arrays;
+import javafx.animation.Animation;
+
+/*
+The time of the game, from which the simulation and every animation of the game take their time. It follows the time
+of the pulses, multiplied by the time scale, and stands still while the game is paused, so pausing, resuming and
+changing the speed of the whole game are single operations, whatever the number of animations. The animations are
+JavaFX animations that are kept paused and are moved to their position on this clock once per frame.
+ */
+public final class GameClock {
+
+    public static final double MAX_FRAME_SECONDS = 0.25;   // longer frames advance the clock as if they were this long
+    public static final double MAX_TIME_SCALE = 10;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_FRAME_NANOS = (long) (MAX_FRAME_SECONDS * NANOS_PER_SECOND);
+
+    private static final GameClock INSTANCE = new GameClock();
+
+    private long nanos = 0;
+    private long previousPulse;
+    private boolean started = false;   // false until the first pulse after a start, resume or reset
+    private boolean paused = false;
+    private double timeScale = 1;
+
+    // the running animations, each knowing its index, so that one is removed in constant time
+    private ClockedAnimation[] running = new ClockedAnimation[32];
+    private int runningCount = 0;
+    private ClockedAnimation[] advancing = new ClockedAnimation[32];  // copy of the running ones, which may start or stop others while advancing
+
+    private GameClock() {
+    }
+
+    public static GameClock getInstance() {
+        return INSTANCE;
+    }
+
+    public ClockedAnimation animate(Animation animation) {
+        return new ClockedAnimation(this, animation);
+    }
+
+    public long update(long pulseNanos) {  // called once per frame with the time of the pulse; returns the time of the game
+        if (paused) {
+            return nanos;
+        }
+        if (started) {
+            final long frameNanos = Math.max(0, Math.min(pulseNanos - previousPulse, MAX_FRAME_NANOS));
+            nanos += Math.round(frameNanos * timeScale);
+        }
+        previousPulse = pulseNanos;
+        started = true;
+
+        if (advancing.length < runningCount) {
+            advancing = new ClockedAnimation[running.length];
+        }
+        final int count = runningCount;
+        System.arraycopy(running, 0, advancing, 0, count);
+        for (int i = 0; i < count; i++) {
+            advancing[i].advance(nanos);
+            advancing[i] = null;
+        }
+        return nanos;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        if (paused) {
+            paused = false;
+            started = false;    // the time spent paused is not counted
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setTimeScale(double timeScale) {
+        if (timeScale <= 0 || timeScale > MAX_TIME_SCALE) {
+            throw new IllegalArgumentException("The time scale must be positive and at most " + MAX_TIME_SCALE);
+        }
+        this.timeScale = timeScale;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    public void reset() {   // stops every animation and starts counting from zero, e.g. when a new game starts
+        while (runningCount > 0) {
+            running[runningCount - 1].stop();
+        }
+        nanos = 0;
+        started = false;
+        paused = false;
+        timeScale = 1;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getSeconds() {
+        return (double) nanos / NANOS_PER_SECOND;
+    }
+
+    void add(ClockedAnimation animation) {
+        if (runningCount == running.length) {
+            running = Arrays.copyOf(running, 2 * running.length);
+        }
+        animation.setRunningIndex(runningCount);
+        running[runningCount++] = animation;
+    }
+
+    void remove(ClockedAnimation animation) {    // the last running animation takes its place
+        final int index = animation.getRunningIndex();
+        final ClockedAnimation last = running[--runningCount];
+        running[index] = last;
+        last.setRunningIndex(index);
+        running[runningCount] = null;
+        animation.setRunningIndex(-1);
+    }
+
+}
@@ -2,14 +2,36 @@ package concepts;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import simulation.Aabb;
 
 public abstract class GameObject extends Group {
 
     private Vector position;
 
+    // World (scene) bounds, recomputed only after the transform of this object or one of its ancestors, or its local bounds, change.
+    private final Aabb worldBounds = new Aabb();
+    private boolean worldBoundsDirty = true;
+    private boolean worldBoundsTracked = false;
+    private final InvalidationListener worldBoundsInvalidator = observable -> worldBoundsDirty = true;
+
+    // Representations of the object for each level of detail. Only the one for the current level is visible; the less
+    // detailed ones are built the first time they are needed, and a level without a representation uses the closest
+    // more detailed one. The switch to another level waits until the distance is past the threshold by a margin, so that
+    // an object at about the threshold distance does not keep switching.
+    public static final double DETAIL_HYSTERESIS = 0.15;
+    private static final LevelOfDetail[] LEVELS = LevelOfDetail.values();
+    private Node[] detailRepresentations = null;
+    private List<Supplier<Node>> detailBuilders = null;
+    private double detailDistance;
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+    private Bounds fullBounds = null;   // collisions are always checked against the full representation
+
     public GameObject(Vector position) {
         this.position = position;
 
@@ -26,6 +48,101 @@ public abstract class GameObject extends Group {
         this.position = position;
     }
 
+    public void moveTo(double x, double y, double z) {  // e.g. when the object is reused
+        position.set(x, y, z);
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+        this.setTranslateZ(z);
+    }
+
+    public Aabb getWorldBounds() {
+        if (!worldBoundsTracked) {
+            localToSceneTransformProperty().addListener(worldBoundsInvalidator);
+            boundsInLocalProperty().addListener(worldBoundsInvalidator);
+            worldBoundsTracked = true;
+        }
+        if (worldBoundsDirty) {
+            worldBoundsDirty = false;
+            // reading both properties validates them, so that the listener is notified on the next change
+            Bounds local = getCollisionBoundsInLocal();
+            Bounds world = getLocalToSceneTransform().transform(local);
+            worldBounds.set(world.getMinX(), world.getMinY(), world.getMinZ(), world.getMaxX(), world.getMaxY(), world.getMaxZ());
+        }
+        return worldBounds;
+    }
+
+    /*
+    The less detailed representations should fit within the full one. The hidden representations are left out of the
+    bounds in local of the object, so the collision bounds are those of the full representation, taken when it is
+    registered, and the collisions do not depend on the level shown, and with it on the camera. The full representation
+    should not change afterwards.
+     */
+    protected void setLevelsOfDetail(double detailDistance, Node full, Supplier<Node> simplified, Supplier<Node> impostor) {
+        this.detailDistance = detailDistance;
+        detailRepresentations = new Node[LEVELS.length];
+        detailRepresentations[LevelOfDetail.FULL.ordinal()] = full;
+        detailBuilders = new ArrayList<>(LEVELS.length);
+        detailBuilders.add(null);
+        detailBuilders.add(simplified);
+        detailBuilders.add(impostor);
+        if (!this.getChildren().contains(full)) {
+            this.getChildren().add(full);
+        }
+        fullBounds = full.getBoundsInParent();
+        levelOfDetail = LevelOfDetail.FULL;
+        invalidateWorldBounds();
+    }
+
+    public boolean hasLevelsOfDetail() {
+        return detailRepresentations != null;
+    }
+
+    public void updateLevelOfDetail(double distance) {
+        if (detailRepresentations == null) {
+            return;
+        }
+        int level = levelOfDetail.ordinal();
+        while (level < LEVELS.length - 1 && distance > detailDistance * LEVELS[level + 1].getDistanceFactor() * (1 + DETAIL_HYSTERESIS)) {
+            ++level;
+        }
+        while (level > 0 && distance < detailDistance * LEVELS[level].getDistanceFactor() * (1 - DETAIL_HYSTERESIS)) {
+            --level;
+        }
+        if (level != levelOfDetail.ordinal()) {
+            setLevelOfDetail(LEVELS[level]);
+        }
+    }
+
+    private void setLevelOfDetail(LevelOfDetail level) {
+        int shown = level.ordinal();
+        while (shown > 0 && detailRepresentations[shown] == null && detailBuilders.get(shown) == null) {
+            --shown;
+        }
+        if (detailRepresentations[shown] == null) {
+            detailRepresentations[shown] = detailBuilders.get(shown).get();
+            this.getChildren().add(detailRepresentations[shown]);
+        }
+        for (int i = 0; i < detailRepresentations.length; i++) {
+            if (detailRepresentations[i] != null) {
+                detailRepresentations[i].setVisible(i == shown);
+            }
+        }
+        levelOfDetail = level;
+        invalidateWorldBounds();
+    }
+
+    public LevelOfDetail getLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    protected Bounds getCollisionBoundsInLocal() {
+        return fullBounds != null ? fullBounds : getBoundsInLocal();
+    }
+
+    protected void invalidateWorldBounds() {
+        worldBoundsDirty = true;
+    }
+
     public static List<Node> getAllSubnodes(Parent root) {
         List<Node> nodes = new ArrayList<>();
         addAllDescendants(root, nodes);
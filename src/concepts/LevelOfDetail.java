@@ -0,0 +1,16 @@
+package concepts;
+
+public enum LevelOfDetail {
+    FULL(0), SIMPLIFIED(1), IMPOSTOR(3);
+
+    private final double distanceFactor;    // the level is used from this many detail distances of the object on
+
+    private LevelOfDetail(double distanceFactor) {
+        this.distanceFactor = distanceFactor;
+    }
+
+    public double getDistanceFactor() {
+        return distanceFactor;
+    }
+
+}
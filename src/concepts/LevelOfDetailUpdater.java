@@ -0,0 +1,61 @@
+package concepts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.Camera;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.transform.Transform;
+import simulation.Aabb;
+
+/*
+Chooses the level of detail of the objects under the tracked nodes according to their distance to the camera. The
+objects are collected when the tracked nodes change, not every frame, grouped by the tracked node they are under, so the
+objects of a node that is hidden, e.g. a room culled by PortalCulling, are skipped together.
+ */
+public class LevelOfDetailUpdater {
+
+    private final List<Parent> roots = new ArrayList<>();
+    private final List<GameObject> objects = new ArrayList<>();
+    private int[] rootEnds = new int[0];   // the objects under a root end where the objects under the next one start
+
+    public void track(List<? extends Parent> roots) {
+        this.roots.clear();
+        this.roots.addAll(roots);
+        objects.clear();
+        rootEnds = Arrays.copyOf(rootEnds, Math.max(rootEnds.length, roots.size()));
+        for (int r = 0; r < roots.size(); r++) {
+            for (Node node : GameObject.getAllSubnodes(roots.get(r))) {
+                if (node instanceof GameObject && ((GameObject) node).hasLevelsOfDetail()) {
+                    objects.add((GameObject) node);
+                }
+            }
+            rootEnds[r] = objects.size();
+        }
+    }
+
+    public void update(Camera camera) {
+        final Transform toScene = camera.getLocalToSceneTransform();
+        final double eyeX = toScene.getTx(), eyeY = toScene.getTy(), eyeZ = toScene.getTz();   // where the origin of the camera is
+        int first = 0;
+        for (int r = 0; r < roots.size(); r++) {
+            final int end = rootEnds[r];
+            if (roots.get(r).isVisible()) {
+                for (int i = first; i < end; i++) {
+                    final GameObject object = objects.get(i);
+                    if (!object.isVisible()) {  // e.g. pooled objects that are not in use
+                        continue;
+                    }
+                    final Aabb bounds = object.getWorldBounds();
+                    final double dx = bounds.getCenterX() - eyeX;
+                    final double dy = bounds.getCenterY() - eyeY;
+                    final double dz = bounds.getCenterZ() - eyeZ;
+                    object.updateLevelOfDetail(Math.sqrt(dx * dx + dy * dy + dz * dz));
+                }
+            }
+            first = end;
+        }
+    }
+
+}
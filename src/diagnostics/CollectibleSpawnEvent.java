@@ -0,0 +1,27 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("arena.CollectibleSpawn")
+@Label("Collectible Spawn")
+@Category({"Arena", "World"})
+@Description("A coin, clock or heart was placed on a random free tile of the current room")
+@StackTrace(false)
+public class CollectibleSpawnEvent extends Event {
+
+    @Label("Collectible")
+    public String collectible;
+
+    @Label("Room Index")
+    public int roomIndex;
+
+    @Label("Spawned")
+    @Description("False if the room had no free tile")
+    public boolean spawned;
+
+}
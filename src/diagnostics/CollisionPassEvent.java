@@ -0,0 +1,34 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("arena.CollisionPass")
+@Label("Collision Pass")
+@Category({"Arena", "Game Loop"})
+@Description("The collision check of the player in one tick")
+@StackTrace(false)
+public class CollisionPassEvent extends Event {
+
+    @Label("Room Index")
+    public int roomIndex;
+
+    @Label("Collision Objects")
+    @Description("Objects in the collision set after the pending changes were applied")
+    public int collisionObjects;
+
+    @Label("Moving Objects")
+    public int movingObjects;
+
+    @Label("Candidates Tested")
+    @Description("Objects returned by the broad phase and tested against the bounds of the player")
+    public int candidates;
+
+    @Label("Hits")
+    public int hits;
+
+}
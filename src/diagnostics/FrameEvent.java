@@ -0,0 +1,69 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+One frame of the update timer, from the pulse to the end of its work, with the time spent in each phase as measured by
+the frame profiler.
+ */
+@Name("arena.Frame")
+@Label("Frame")
+@Category({"Arena", "Game Loop"})
+@Description("A frame of the update timer and the time spent in each of its phases")
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("Room Index")
+    public int roomIndex;
+
+    @Label("Ticks")
+    @Description("Simulation ticks run in this frame")
+    public int ticks;
+
+    @Label("Time Scale")
+    public double timeScale;
+
+    @Label("Pulse Interval")
+    @Timespan(Timespan.NANOSECONDS)
+    public long pulseInterval;
+
+    @Label("Clock")
+    @Timespan(Timespan.NANOSECONDS)
+    public long clock;
+
+    @Label("Player")
+    @Timespan(Timespan.NANOSECONDS)
+    public long player;
+
+    @Label("Collisions")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisions;
+
+    @Label("Room")
+    @Timespan(Timespan.NANOSECONDS)
+    public long room;
+
+    @Label("Time")
+    @Description("Time management, room transitions and room entry")
+    @Timespan(Timespan.NANOSECONDS)
+    public long time;
+
+    @Label("HUD")
+    @Timespan(Timespan.NANOSECONDS)
+    public long hud;
+
+    @Label("Culling")
+    @Timespan(Timespan.NANOSECONDS)
+    public long culling;
+
+    @Label("Level of Detail")
+    @Timespan(Timespan.NANOSECONDS)
+    public long levelOfDetail;
+
+}
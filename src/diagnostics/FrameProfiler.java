@@ -0,0 +1,146 @@
+package diagnostics;
+
+import java.util.Arrays;
+
+/*
+Time spent in each phase of the frames, and the interval between the pulses that start them, for the most recent
+frames. A phase may run several times in a frame, e.g. once per tick, and its time is summed over the frame. Everything
+is kept in arrays allocated up front that are written over in a ring, and measuring a phase takes two reads of the
+nanosecond timer, so the profiler can stay on in normal play. The percentiles are over the frames still in the rings.
+ */
+public class FrameProfiler<P extends Enum<P>> {
+
+    public static final int DEFAULT_FRAMES = 600;  // about ten seconds at 60 frames per second
+
+    private static final long NO_PULSE = Long.MIN_VALUE;
+    private static final double NANOS_PER_MILLI = 1_000_000;
+
+    private final P[] phases;
+    private final long[][] phaseNanos;     // [phase][frame]
+    private final long[] pulseNanos;       // [frame], the interval since the previous pulse
+    private final long[] frameNanos;       // [phase], summed over the current frame
+    private final long[] startNanos;       // [phase], when it was last started
+    private final long[] sorted;           // for the percentiles
+
+    private int next = 0;       // the frame written at the end of the current frame
+    private int recorded = 0;
+    private long previousPulse = NO_PULSE;
+    private long currentPulse = 0;
+    private boolean enabled = true;
+
+    public FrameProfiler(Class<P> phaseClass, int frames) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("The number of frames must be positive");
+        }
+        phases = phaseClass.getEnumConstants();
+        phaseNanos = new long[phases.length][frames];
+        pulseNanos = new long[frames];
+        frameNanos = new long[phases.length];
+        startNanos = new long[phases.length];
+        sorted = new long[frames];
+    }
+
+    public FrameProfiler(Class<P> phaseClass) {
+        this(phaseClass, DEFAULT_FRAMES);
+    }
+
+    public void beginFrame(long pulse) {   // with the time of the pulse of the frame
+        if (!enabled) {
+            return;
+        }
+        currentPulse = previousPulse == NO_PULSE ? 0 : pulse - previousPulse;
+        previousPulse = pulse;
+        Arrays.fill(frameNanos, 0);
+    }
+
+    public void skipPulse() {   // the next pulse interval is not measured, e.g. after the game was paused
+        previousPulse = NO_PULSE;
+    }
+
+    public void start(P phase) {
+        if (enabled) {
+            startNanos[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public void stop(P phase) {
+        if (enabled) {
+            frameNanos[phase.ordinal()] += System.nanoTime() - startNanos[phase.ordinal()];
+        }
+    }
+
+    public void endFrame() {
+        if (!enabled) {
+            return;
+        }
+        for (int p = 0; p < phases.length; p++) {
+            phaseNanos[p][next] = frameNanos[p];
+        }
+        pulseNanos[next] = currentPulse;
+        next = (next + 1) % pulseNanos.length;
+        recorded = Math.min(recorded + 1, pulseNanos.length);
+    }
+
+    public long getFrameNanos(P phase) {    // the time spent in the phase so far in the current frame
+        return frameNanos[phase.ordinal()];
+    }
+
+    public long getPulseInterval() {    // of the current frame
+        return currentPulse;
+    }
+
+    public long percentile(P phase, double percent) {     // in nanoseconds, 0 if no frame was recorded
+        return percentile(phaseNanos[phase.ordinal()], percent);
+    }
+
+    public long pulsePercentile(double percent) {
+        return percentile(pulseNanos, percent);
+    }
+
+    private long percentile(long[] ring, double percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100");
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        System.arraycopy(ring, 0, sorted, 0, recorded);    // the first frames of the ring are the recorded ones until it is full
+        Arrays.sort(sorted, 0, recorded);
+        final int rank = (int) Math.ceil(percent / 100 * recorded);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    public int getRecordedFrames() {
+        return recorded;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        skipPulse();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void clear() {
+        next = 0;
+        recorded = 0;
+        skipPulse();
+    }
+
+    public String report() {    // p50, p95 and p99 of each phase and of the pulse interval, in milliseconds
+        StringBuilder report = new StringBuilder("Last ").append(recorded).append(" frames (p50 / p95 / p99 ms):");
+        for (P phase : phases) {
+            appendPercentiles(report, phase.name(), phaseNanos[phase.ordinal()]);
+        }
+        appendPercentiles(report, "PULSE_INTERVAL", pulseNanos);
+        return report.toString();
+    }
+
+    private void appendPercentiles(StringBuilder report, String name, long[] ring) {
+        report.append(String.format("%n  %-16s %8.3f %8.3f %8.3f", name,
+                percentile(ring, 50) / NANOS_PER_MILLI, percentile(ring, 95) / NANOS_PER_MILLI, percentile(ring, 99) / NANOS_PER_MILLI));
+    }
+
+}
@@ -0,0 +1,34 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("arena.HazardTrigger")
+@Label("Hazard Trigger")
+@Category({"Arena", "World"})
+@Description("A hazard was picked to be triggered; it is not triggered if its tiles are busy")
+@StackTrace(false)
+public class HazardTriggerEvent extends Event {
+
+    public static final String SPIKES = "SPIKES";
+    public static final String BLADE = "BLADE";
+    public static final String PROJECTILE = "PROJECTILE";
+
+    @Label("Hazard")
+    public String hazard;
+
+    @Label("Tile X")
+    @Description("Index of the tile along X, or -1 for a projectile row")
+    public int tileX;
+
+    @Label("Tile Z")
+    public int tileZ;
+
+    @Label("Triggered")
+    public boolean triggered;
+
+}
@@ -0,0 +1,33 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("arena.RoomTransition")
+@Label("Room Transition")
+@Category({"Arena", "World"})
+@Description("A room was entered, or finished and the next one made current")
+@StackTrace(false)
+public class RoomTransitionEvent extends Event {
+
+    public static final String ENTERED = "ENTERED";
+    public static final String FINISHED = "FINISHED";
+
+    @Label("Transition")
+    public String transition;
+
+    @Label("From Room Index")
+    public int fromRoomIndex;
+
+    @Label("To Room Index")
+    public int toRoomIndex;
+
+    @Label("Objects Removed")
+    @Description("Collision objects removed when the room was finished")
+    public int objectsRemoved;
+
+}
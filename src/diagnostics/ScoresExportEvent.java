@@ -0,0 +1,29 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("arena.ScoresExport")
+@Label("High Scores Export")
+@Category({"Arena", "I/O"})
+@Description("The high scores were written to their file")
+public class ScoresExportEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Scores")
+    public int scores;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+}
@@ -0,0 +1,122 @@
+package game;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+
+/*
+Images and sounds, loaded and decoded on background threads. Each asset is loaded once; requesting it again returns
+the same future, so the game can request everything it needs while the main menu is shown and later get the assets
+without waiting. An asset that cannot be loaded is logged and its future completes with null.
+ */
+public final class Assets {
+
+    private static final ExecutorService LOADERS = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+        Thread thread = new Thread(runnable, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final ConcurrentHashMap<String, CompletableFuture<?>> ASSETS = new ConcurrentHashMap<>();
+
+    private Assets() {
+    }
+
+    public static CompletableFuture<Image> requestImage(String resource) {
+        return requestImage(resource, 0, 0);
+    }
+
+    public static CompletableFuture<Image> requestImage(String resource, double maxWidth, double maxHeight) {  // 0 keeps the size of the file
+        return request("image:" + resource + "@" + maxWidth + "x" + maxHeight, () -> {
+            URL url = find(resource);
+            return url == null ? null : new Image(url.toExternalForm(), maxWidth, maxHeight, true, true, false);
+        });
+    }
+
+    public static CompletableFuture<AudioClip> requestAudioClip(String resource) {
+        return request("clip:" + resource, () -> {
+            URL url = find(resource);
+            return url == null ? null : new AudioClip(url.toExternalForm());
+        });
+    }
+
+    public static CompletableFuture<Media> requestMedia(String resource) {
+        return request("media:" + resource, () -> {
+            URL url = find(resource);
+            return url == null ? null : new Media(url.toExternalForm());
+        });
+    }
+
+    public static CompletableFuture<Void> requestTask(String name, Runnable task) {    // other work that should be done while loading
+        return request("task:" + name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static Image getImage(String resource) {
+        return requestImage(resource).join();
+    }
+
+    public static Image getImage(String resource, double maxWidth, double maxHeight) {
+        return requestImage(resource, maxWidth, maxHeight).join();
+    }
+
+    public static AudioClip getAudioClip(String resource) {
+        return requestAudioClip(resource).join();
+    }
+
+    public static Media getMedia(String resource) {
+        return requestMedia(resource).join();
+    }
+
+    /*
+    Returns the part of the given loads that has finished, from 0 to 1. The property is only changed on the JavaFX
+    application thread.
+     */
+    public static ReadOnlyDoubleProperty track(List<CompletableFuture<?>> loads) {
+        ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(loads.isEmpty() ? 1 : 0);
+        AtomicInteger finished = new AtomicInteger();
+        for (CompletableFuture<?> load : loads) {
+            load.whenComplete((asset, ex) -> {
+                final double done = (double) finished.incrementAndGet() / loads.size();
+                Platform.runLater(() -> progress.set(Math.max(progress.get(), done)));
+            });
+        }
+        return progress.getReadOnlyProperty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> request(String key, Supplier<T> loader) {
+        return (CompletableFuture<T>) ASSETS.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.get();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(Assets.class.getName()).log(Level.SEVERE, "Could not load " + k, ex);
+                return null;
+            }
+        }, LOADERS));
+    }
+
+    private static URL find(String resource) {
+        URL url = Assets.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            Logger.getLogger(Assets.class.getName()).log(Level.WARNING, "Missing resource {0}", resource);
+        }
+        return url;
+    }
+
+}
@@ -1,5 +1,6 @@
 package game;
 
+import concepts.ClockedAnimation;
 import concepts.DamagingObject;
 import java.util.ArrayList;
 import javafx.animation.AnimationTimer;
@@ -8,23 +9,35 @@ import javafx.geometry.Bounds;
 import javafx.scene.AmbientLight;
 import javafx.scene.Cursor;
 import javafx.scene.Group;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.SceneAntialiasing;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import objects.FloorWithSpikes;
+import concepts.GameClock;
 import concepts.GameObject;
+import concepts.LevelOfDetailUpdater;
 import concepts.Vector;
-import java.util.Arrays;
+import diagnostics.CollectibleSpawnEvent;
+import diagnostics.CollisionPassEvent;
+import diagnostics.FrameEvent;
+import diagnostics.FrameProfiler;
+import diagnostics.RoomTransitionEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javafx.animation.Animation;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.geometry.Pos;
 import objects.Player;
 import javafx.scene.PerspectiveCamera;
@@ -37,19 +50,29 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
 import javafx.util.Duration;
+import objects.Blade;
 import objects.Clock;
 import objects.Coin;
 import objects.FloorWithFlowers;
 import objects.FloorWithTiles;
 import objects.Heart;
+import objects.Meshes;
 import objects.Picture;
 import objects.Projectile;
+import objects.Spikes;
 import objects.Wall;
 import rooms.BufferZone;
+import rooms.PortalCulling;
 import rooms.Room;
-import rooms.RoomWithBlades;
-import rooms.RoomWithProjectiles;
-import rooms.RoomWithSpikes;
+import rooms.RoomStreamer;
+import simulation.Aabb;
+import simulation.CollisionSet;
+import simulation.ArenaModel;
+import simulation.FixedTimestep;
+import simulation.InputRecorder;
+import simulation.InputReplay;
+import simulation.PlayerInput;
+import simulation.RandomStream;
 import sprites.Life;
 import sprites.StaminaBar;
 
@@ -67,9 +90,10 @@ public class Game extends Application {
     private final Group mainSubsceneRoot = new Group();
     private final StackPane HUDSubsceneRoot = new StackPane();
 
-    private boolean theEnd = false;
-    private boolean paused;
-    private final List<Animation> pausedAnimations = new ArrayList<>();
+    private ArenaModel arena;
+    private final GameClock clock = GameClock.getInstance();  // pausing the game stops it, and everything that takes its time from it
+    private static final double[] TEST_MODE_TIME_SCALES = {1, GameClock.MAX_TIME_SCALE, 0.25};
+    private int testModeTimeScale = 0;
 
     private AmbientLight ambientLight;
     private final Color DEFAULT_AMBIENT_COLOR = new Color(.55, .55, .55, 1);
@@ -77,102 +101,206 @@ public class Game extends Application {
     private Player player;
     private Life[] lives2D;
     private StaminaBar staminaBar;
-    private Timeline damageRedFlash;    // brief ambient color change when hurt
-    private Timeline finishWhiteFlash;  // brief ambient color change when a room is successfully passed
+    private ClockedAnimation damageRedFlash;    // brief ambient color change when hurt
+    private ClockedAnimation finishWhiteFlash;  // brief ambient color change when a room is successfully passed
 
-    private BufferZone[] bufferZones = null;
+    private static final RoomStreamer.RoomKind[] ROOM_KINDS = {RoomStreamer.RoomKind.SPIKES, RoomStreamer.RoomKind.PROJECTILES, RoomStreamer.RoomKind.BLADES};
+    private RoomStreamer roomStreamer = null;   // builds the rooms ahead of the player and releases the ones behind
+    private PortalCulling portalCulling = null; // hides the rooms that cannot be seen from the camera
+    private final LevelOfDetailUpdater levelOfDetail = new LevelOfDetailUpdater();
     private BufferZone previousBufferZone = null;
     private BufferZone nextBufferZone = null;
-    private Room[] rooms = null;
-    private int currentRoomIndex = -1;
     private Room currentRoom = null;
-    private RoomWithSpikes roomWithSpikes = null;
-    private RoomWithProjectiles roomWithProjectiles = null;
-    private RoomWithBlades roomWithBlades = null;
 
-    public static final int NUMBER_OF_COINS = 3;
+    public static final int NUMBER_OF_COINS = ArenaModel.NUMBER_OF_COINS;
 
-    private int points = 0;
     private Text pointsText;
     private VBox pointsVBox;
 
-    public static final double DEFAULT_STARTING_TIME = 60;
-    public static final double TEST_MODE_STARTING_TIME = 7;
-    private boolean roomOngoing = false;
-    private double remainingTime = DEFAULT_STARTING_TIME;
+    public static final double DEFAULT_STARTING_TIME = ArenaModel.DEFAULT_STARTING_TIME;
+    public static final double TEST_MODE_STARTING_TIME = ArenaModel.TEST_MODE_STARTING_TIME;
     private Text remainingTimeText;
-    private int clocksAppeared = 0;
-    private boolean firstClockTaken = false;
-
-    private boolean heartExists = false;
 
     private PerspectiveCamera cam;
     private Group camCarrier;
     private Rotate camCarrierRotX, camCarrierRotY;
     public static final double CAM_CARRIER_ROTATE_STEP = 5;
 
-    private final List<GameObject> collisionObjects = new ArrayList<>(); // careful with concurrency issues; potentially use Collections.synchronizedList(new ArrayList<>())
+    public static final double COLLISION_CELL_SIZE = 500;
+    private final Aabb sweptBounds = new Aabb();
+    private final CollisionSet<GameObject> collisionObjects = new CollisionSet<>(COLLISION_CELL_SIZE, this::getSweptBounds);  // changes are applied at the start of each collision check
+    private final List<GameObject> collisionCandidates = new ArrayList<>();
+    private final Aabb playerBounds = new Aabb();
 
     private final HighScores highScores = HighScores.getInstance();
     private boolean scoreSaved = false;
 
     private final SoundPlayer soundPlayer = SoundPlayer.getInstance();
 
+    private static final String[] WALL_PICTURES = {"resources/pic1.jpg", "resources/pic2.jpg", "resources/pic3.jpg", "resources/pic4.jpg", "resources/pic5.jpg", "resources/pic6.jpg"};
+    private static final String ARENA_PICTURE = "resources/logo2.png";
+    private static final double ARENA_PICTURE_SIZE = BufferZone.DEFAULT_FLOOR_WIDTH / 2;
+
     private boolean testMode = false;
     
     private final Menu menu = new Menu(this);   // Due to the importing of settings in the constructor of the Menu class, it is necessary to make sure that Menu is constructed after Game has the soundPlayer field initialized.
 
-    public static final Random RANDOM = new Random();
+    // Launched with --record=<file>, each game records the input of the player to the file, replacing the previous
+    // recording. Launched with --replay=<file>, each game plays the recording back instead, with the recorded seed and
+    // --replay-speed=<time scale> times as fast. With --seed=<number>, the games that are not replayed use that seed.
+    private Path recordingPath = null;
+    private InputRecorder recorder = null;
+    private InputReplay replay = null;
+    private double replaySpeed = 1;
+    private boolean replayed = false;   // whether the current game plays the recording back, set when it starts
+    private Long seed = null;
 
     private final UpdateTimer timer = new UpdateTimer();
 
+    public enum FramePhase {
+        CLOCK, PLAYER, COLLISIONS, ROOM, TIME, HUD, CULLING, LEVEL_OF_DETAIL;
+    }
+
+    private final FrameProfiler<FramePhase> profiler = new FrameProfiler<>(FramePhase.class);
+
     private class UpdateTimer extends AnimationTimer {
 
+        // The simulation advances in steps of ArenaModel.TICK_SECONDS of game time regardless of the refresh rate of the
+        // display. The game clock already limits the length of a frame, so the timestep only has to allow for its time scale.
+        private final FixedTimestep timestep = new FixedTimestep(ArenaModel.TICK_SECONDS, GameClock.MAX_FRAME_SECONDS * GameClock.MAX_TIME_SCALE);
+        private boolean simulating = false;
+        private long tickCount = 0;     // since the start of the game, the time stamp of the recorded input
+
+        @Override
+        public void start() {
+            timestep.reset();
+            tickCount = 0;
+            simulating = true;
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            simulating = false;
+            super.stop();
+        }
+
+        public void stopSimulation() {  // the clock, and with it the animations, keep running
+            simulating = false;
+        }
+
         @Override
         public void handle(long now) {
-            if (!paused) {
-                player.update();
-                staminaBar.update();
-
-                checkForCollisions();
-
-                if (!theEnd) {
-                    currentRoom.update();
-                    if (roomOngoing) {
-                        manageTimeAndClocks();
-                        manageHearts();
-                    } else {
-                        checkIfRoomEntered();
-                    }
+            FrameEvent event = new FrameEvent();
+            event.begin();
+            profiler.beginFrame(now);
+            profiler.start(FramePhase.CLOCK);
+            final long gameNanos = clock.update(now);  // also moves the animations
+            profiler.stop(FramePhase.CLOCK);
+            if (clock.isPaused()) {
+                profiler.skipPulse();   // the frames while paused are not recorded
+                return;
+            }
+            final int steps = timestep.advance(gameNanos);
+            int ticks = 0;
+            for (; ticks < steps && simulating && !clock.isPaused(); ticks++) {
+                tick();
+            }
+            profiler.start(FramePhase.HUD);
+            staminaBar.update();
+            profiler.stop(FramePhase.HUD);
+            profiler.start(FramePhase.PLAYER);
+            player.interpolate(timestep.getAlpha());
+            profiler.stop(FramePhase.PLAYER);
+            profiler.start(FramePhase.CULLING);
+            portalCulling.update(mainSubscene.getCamera(), WINDOW_WIDTH / WINDOW_HEIGHT);
+            profiler.stop(FramePhase.CULLING);
+            profiler.start(FramePhase.LEVEL_OF_DETAIL);
+            levelOfDetail.update(mainSubscene.getCamera());
+            profiler.stop(FramePhase.LEVEL_OF_DETAIL);
+            event.end();
+            if (event.shouldCommit()) {
+                event.roomIndex = arena.getCurrentRoomIndex();
+                event.ticks = ticks;
+                event.timeScale = clock.getTimeScale();
+                event.pulseInterval = profiler.getPulseInterval();
+                event.clock = profiler.getFrameNanos(FramePhase.CLOCK);
+                event.player = profiler.getFrameNanos(FramePhase.PLAYER);
+                event.collisions = profiler.getFrameNanos(FramePhase.COLLISIONS);
+                event.room = profiler.getFrameNanos(FramePhase.ROOM);
+                event.time = profiler.getFrameNanos(FramePhase.TIME);
+                event.hud = profiler.getFrameNanos(FramePhase.HUD);
+                event.culling = profiler.getFrameNanos(FramePhase.CULLING);
+                event.levelOfDetail = profiler.getFrameNanos(FramePhase.LEVEL_OF_DETAIL);
+                event.commit();
+            }
+            profiler.endFrame();
+        }
+
+        private void tick() {
+            profiler.start(FramePhase.PLAYER);
+            applyInput(tickCount++);
+            player.update();
+            profiler.stop(FramePhase.PLAYER);
+
+            profiler.start(FramePhase.COLLISIONS);
+            checkForCollisions();
+            profiler.stop(FramePhase.COLLISIONS);
+
+            if (!arena.isOver()) {
+                profiler.start(FramePhase.ROOM);
+                currentRoom.update();
+                if (roomStreamer.update()) {    // a step of building the room ahead
+                    trackLevelsOfDetail();
                 }
+                profiler.stop(FramePhase.ROOM);
+                profiler.start(FramePhase.TIME);
+                if (arena.isRoomOngoing()) {
+                    manageTimeAndClocks();
+                } else {
+                    checkIfRoomEntered();
+                }
+                profiler.stop(FramePhase.TIME);
             }
         }
 
         private void manageTimeAndClocks() {
-            remainingTime -= 1. / 60;
-            remainingTimeText.setText("Time remaining: " + (int) remainingTime);
+            ArenaModel.TimeEvent timeEvent = arena.advanceTime(ArenaModel.TICK_SECONDS);
+            remainingTimeText.setText("Time remaining: " + (int) arena.getRemainingTime());
 
-            if (remainingTime <= 0.15 && finishWhiteFlash.getStatus() != Animation.Status.RUNNING) {
+            if (arena.isFinishFlashDue() && finishWhiteFlash.getStatus() != Animation.Status.RUNNING) {
                 finishWhiteFlash.play();
             }
 
-            if ((remainingTime <= 10 && clocksAppeared == 0) || (remainingTime <= 5 && clocksAppeared == 1 && firstClockTaken == true)) {
+            if (timeEvent == ArenaModel.TimeEvent.CLOCK_DUE) {
                 populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption.CLOCK);
-                ++clocksAppeared;
-            } else if (remainingTime <= 0) {
+            } else if (timeEvent == ArenaModel.TimeEvent.ROOM_FINISHED) {
                 remainingTimeText.setText("Time remaining: -");
-                roomOngoing = false;
-                collisionObjects.removeAll(currentRoom.removeUnnecessaryObjectsAndFinalize());
-
-                if (currentRoomIndex < rooms.length - 1) {
+                RoomTransitionEvent event = new RoomTransitionEvent();
+                event.begin();
+                event.fromRoomIndex = arena.getCurrentRoomIndex();
+                List<GameObject> removed = currentRoom.removeUnnecessaryObjectsAndFinalize();
+                removeCollisionObjects(removed);
+                event.objectsRemoved = removed.size();
+
+                if (arena.advanceToNextRoom()) {
                     nextBufferZone.triggerStartGate();
                     nextBufferZone.triggerEndGate();
-                    currentRoom = rooms[++currentRoomIndex];
+                    if (roomStreamer.finishBuilding(arena.getCurrentRoomIndex())) {    // only if the room was finished in fewer ticks than it takes to build the next one
+                        trackLevelsOfDetail();
+                    }
+                    currentRoom = roomStreamer.getRoom(arena.getCurrentRoomIndex());
                     for (int i = 0; i < NUMBER_OF_COINS; i++) {
                         populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption.COIN);
                     }
+                    event.transition = RoomTransitionEvent.FINISHED;
+                    event.toRoomIndex = arena.getCurrentRoomIndex();
+                    event.commit();
                 } else {
-                    for (BufferZone bz : bufferZones) {
+                    event.transition = RoomTransitionEvent.FINISHED;
+                    event.toRoomIndex = -1;     // the last room
+                    event.commit();
+                    for (BufferZone bz : roomStreamer.getResidentBufferZones()) {
                         bz.openGates();
                     }
                     endGame(true, "Well done, you survived!");
@@ -180,24 +308,49 @@ public class Game extends Application {
             }
         }
 
-        private void manageHearts() {
-            if (player.getLives() < Player.MAX_LIVES && !heartExists) {
-                if (Game.RANDOM.nextDouble() > 0.998) {
-                    populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption.HEART);
-                    heartExists = true;
+    }
+
+    private void applyInput(long tick) {
+        final PlayerInput input = player.getInput();
+        if (replay != null) {
+            input.clear();  // the input from the scene is ignored while replaying
+            try {
+                replay.read(tick, input);
+            } catch (IllegalArgumentException ex) {  // the rest of the game cannot be played back, so it ends here
+                Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
+                clock.setTimeScale(1);
+                if (arena.isOver()) {
+                    timer.stopSimulation();
+                } else {
+                    endGame(false, "The recording could not be played back");
                 }
+                return;
             }
         }
-
+        if (recorder != null && input.size() > 0) {
+            try {
+                recorder.write(tick, input);
+            } catch (IOException ex) {
+                Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
+                stopRecording();
+            }
+        }
+        player.applyInput();
     }
 
     private void checkForCollisions() {
-        ListIterator<GameObject> it = collisionObjects.listIterator();
-        final List<GameObject> forRemovalAfterIterating = new ArrayList<>(2);
-        while (it.hasNext()) {
-            GameObject currObj = it.next();
-            Bounds currObjBounds = currObj.localToScene(currObj.getBoundsInLocal());
-            if (currObjBounds.intersects((player.localToScene(player.getBody().getBoundsInParent())))) {
+        CollisionPassEvent event = new CollisionPassEvent();
+        event.begin();
+        collisionObjects.applyChanges();    // the objects added and removed since the previous check, e.g. by the streamer or by projectiles
+        collisionObjects.updateMoving();
+
+        final Aabb playerBounds = updatePlayerBounds();
+        collisionObjects.query(playerBounds, collisionCandidates);
+        int tested = 0, hits = 0;
+        for (GameObject currObj : collisionCandidates) {    // removals while iterating only take effect at the next check
+            ++tested;
+            if (currObj.getWorldBounds().intersects(playerBounds)) {
+                ++hits;
                 if (currObj instanceof DamagingObject) {
                     DamagingObject damagingObject = (DamagingObject) currObj;
                     if (damagingObject.isDamaging()) {
@@ -209,7 +362,7 @@ public class Game extends Application {
                         damagingObject.setDamaging(false);  // Disables getting hurt from the same currObj in the next instant. It is set back to true in the currObj itself if necessary.
 
                         if (currObj instanceof Projectile) {
-                            it.remove();
+                            removeCollisionObject(currObj);
                             ((Projectile) currObj).animateDecayAndRemove();
                         }
 
@@ -217,96 +370,145 @@ public class Game extends Application {
                             endGame(false, "Game over, you died!");
                         }
                     }
-                    player.setTranslateX(player.getPosition().getX());
-                    player.setTranslateZ(player.getPosition().getZ());
+                    player.revertToLastValidPosition();
                     break;
                 } else if (currObj instanceof Coin) {
                     soundPlayer.playSoundEffect(SoundPlayer.SoundEffect.COIN);
+                    removeCollisionObject(currObj);
                     currentRoom.removeObject(currObj);
-                    it.set(currentRoom.populateRandomTile(FloorWithTiles.PopulateOption.COIN, player)); // avoid potential concurrency issues
-                    ++points;
-                    pointsText.setText("Points: " + points);
+                    populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption.COIN);
+                    arena.collectCoin();
+                    pointsText.setText("Points: " + arena.getPoints());
                     break;
                 } else if (currObj instanceof Clock) {
                     soundPlayer.playSoundEffect(SoundPlayer.SoundEffect.CLOCK);
-                    it.remove();
+                    removeCollisionObject(currObj);
                     currentRoom.removeObject(currObj);
-                    if (clocksAppeared == 1) {
-                        remainingTime += 30;
-                        firstClockTaken = true;
-                    } else if (clocksAppeared == 2) {
-                        remainingTime += 15;
-                    }
+                    arena.collectClock();
                     break;
                 } else if (currObj instanceof Heart) {
                     soundPlayer.playSoundEffect(SoundPlayer.SoundEffect.HEART);
-                    it.remove();
+                    removeCollisionObject(currObj);
                     currentRoom.removeObject(currObj);
                     if (player.getLives() < Player.MAX_LIVES) {
                         player.setLives(player.getLives() + 1);
                         lives2D[lives2D.length - player.getLives()].setActive(true);
                     }
-                    heartExists = false;
+                    arena.collectHeart();
                     break;
                 } else {
-                    player.setTranslateX(player.getPosition().getX());
-                    player.setTranslateZ(player.getPosition().getZ());
+                    player.revertToLastValidPosition();
                     break;
                 }
-            } else if (currObj instanceof Projectile) { // projectiles colliding with other collision objects
-                List<GameObject> collidingWithCurrentProjectile = collisionObjects.stream()
-                        .filter(o -> (o != currObj && o.localToScene(o.getBoundsInLocal()).intersects(currObjBounds)))
-                        .collect(Collectors.toList());
-                // since multiple collision objects may be removed, it is done after iterating
-                if (!collidingWithCurrentProjectile.isEmpty()) {
-                    forRemovalAfterIterating.addAll(
-                            collidingWithCurrentProjectile.stream()
-                                    .filter(o -> o instanceof Projectile)
-                                    .collect(Collectors.toList())
-                    );
-                    forRemovalAfterIterating.add(currObj);
-                    forRemovalAfterIterating.stream()
-                            .filter(o -> o instanceof Projectile)
-                            .forEach(o -> ((Projectile) o).animateDecayAndRemove());    // animateDecayAndRemove() performs setDamaging(false)
-                }
             }
         }
 
-        collisionObjects.removeAll(forRemovalAfterIterating);
+        player.commitPosition();
 
-        player.getPosition().setX(player.getTranslateX());
-        player.getPosition().setZ(player.getTranslateZ());
+        event.end();
+        if (event.shouldCommit()) {
+            event.roomIndex = arena.getCurrentRoomIndex();
+            event.collisionObjects = collisionObjects.size();
+            event.movingObjects = collisionObjects.getMovingCount();
+            event.candidates = tested;
+            event.hits = hits;
+            event.commit();
+        }
     }
 
-    private void checkIfRoomEntered() {
-        if (!theEnd && !roomOngoing) {
-            if (currentRoom.getBoundsInParent().intersects(player.localToScene(player.getBody().getBoundsInParent()))) {
-                roomOngoing = true;
-                
-                if (!testMode) {
-                    remainingTime = DEFAULT_STARTING_TIME;
-                } else {
-                    remainingTime = TEST_MODE_STARTING_TIME;
-                }
+    private Aabb getSweptBounds(GameObject object) {   // the extents registered for the object; reuses one instance
+        final Aabb bounds = object.getWorldBounds();
+        if (object instanceof Blade || object instanceof Coin || object instanceof Clock || object instanceof Heart) {
+            // these spin around the Y axis, so the whole circle they sweep is registered
+            final double radius = Math.hypot(bounds.getWidth() / 2, bounds.getDepth() / 2);
+            return sweptBounds.set(bounds.getCenterX() - radius, bounds.getMinY(), bounds.getCenterZ() - radius,
+                    bounds.getCenterX() + radius, bounds.getMaxY(), bounds.getCenterZ() + radius);
+        }
+        return sweptBounds.set(bounds);
+    }
+
+    public void addCollisionObject(GameObject object) {
+        if (object == null) {
+            return;
+        }
+        collisionObjects.add(object, object instanceof Projectile);     // projectiles move, so they are re-registered every check
+    }
 
-                clocksAppeared = 0;
-                firstClockTaken = false;
-                heartExists = false;
+    public void addCollisionObjects(List<? extends GameObject> objects) {
+        for (GameObject object : objects) {
+            addCollisionObject(object);
+        }
+    }
 
+    public void removeCollisionObject(GameObject object) {
+        collisionObjects.remove(object);
+    }
+
+    public void removeCollisionObjects(List<? extends GameObject> objects) {
+        for (GameObject object : objects) {
+            removeCollisionObject(object);
+        }
+    }
+
+    private Aabb updatePlayerBounds() {  // the player moves every frame, so its bounds are recomputed once per frame
+        final Bounds bounds = player.localToScene(player.getBody().getBoundsInParent());
+        return playerBounds.set(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(), bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ());
+    }
+
+    private void checkIfRoomEntered() {
+        if (!arena.isOver() && !arena.isRoomOngoing()) {
+            final Aabb playerBounds = updatePlayerBounds();
+            if (currentRoom.getWorldBounds().intersects(playerBounds)) {
+                RoomTransitionEvent event = new RoomTransitionEvent();
+                event.begin();
+                event.fromRoomIndex = arena.getCurrentRoomIndex() - 1;  // from the buffer zone before it
+                arena.enterRoom();
+                currentRoom.scheduleArrivals(ArenaModel.HEART_ARRIVALS, this::manageHearts);
+
+                final int currentRoomIndex = arena.getCurrentRoomIndex();
                 if (currentRoomIndex > 0) {
                     previousBufferZone.triggerEndGate();
-                    previousBufferZone = bufferZones[currentRoomIndex];
+                    previousBufferZone = roomStreamer.getBufferZone(currentRoomIndex);
                     nextBufferZone.triggerStartGate();
-                    nextBufferZone = bufferZones[currentRoomIndex + 1];
+                    nextBufferZone = roomStreamer.getBufferZone(currentRoomIndex + 1);
                 }
-            } else if (previousBufferZone.getBoundsInParent().intersects(player.localToScene(player.getBody().getBoundsInParent()))) {
+                roomStreamer.advanceTo(currentRoomIndex);
+                trackLevelsOfDetail();
+
+                event.transition = RoomTransitionEvent.ENTERED;
+                event.toRoomIndex = currentRoomIndex;
+                event.commit();
+            } else if (previousBufferZone.getWorldBounds().intersects(playerBounds)) {
                 // TODO: ...?
             }
         }
     }
 
+    private void trackLevelsOfDetail() {   // after the resident rooms change
+        List<Parent> roots = new ArrayList<>(roomStreamer.getResidentRooms());
+        roots.addAll(roomStreamer.getResidentBufferZones());
+        levelOfDetail.track(roots);
+    }
+
+    private void manageHearts() {
+        if (arena.canSpawnHeart(player.getLives(), Player.MAX_LIVES)) {
+            populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption.HEART);
+            arena.heartSpawned();
+        }
+    }
+
     private void populateTileInCurrentRoomAndAddToCollisionObjects(FloorWithTiles.PopulateOption option) {  // for convenience
-        collisionObjects.add(currentRoom.populateRandomTile(option, player));
+        CollectibleSpawnEvent event = new CollectibleSpawnEvent();
+        event.begin();
+        GameObject object = currentRoom.populateRandomTile(option, player);
+        addCollisionObject(object);
+        event.end();
+        if (event.shouldCommit()) {
+            event.collectible = option.name();
+            event.roomIndex = arena.getCurrentRoomIndex();
+            event.spawned = object != null;
+            event.commit();
+        }
     }
 
     public void switchToMenu(Menu.MenuKind menuKind) {
@@ -337,39 +539,92 @@ public class Game extends Application {
     }
 
     public void pause() {
-        if (!paused) {
-            pausedAnimations.clear();
-            pausedAnimations.addAll(Arrays.stream(rooms).flatMap(r -> r.getAnimations().stream()).filter(a -> a.getStatus() == Animation.Status.RUNNING).collect(Collectors.toList()));
-            pausedAnimations.addAll(Arrays.stream(bufferZones).flatMap(bz -> bz.getAnimations().stream()).filter(a -> a.getStatus() == Animation.Status.RUNNING).collect(Collectors.toList()));
-            if (damageRedFlash.getStatus() == Animation.Status.RUNNING) {
-                pausedAnimations.add(damageRedFlash);
-            }
-            if (finishWhiteFlash.getStatus() == Animation.Status.RUNNING) {
-                pausedAnimations.add(finishWhiteFlash);
-            }
-            pausedAnimations.forEach(a -> a.pause());
+        if (!clock.isPaused()) {
+            clock.pause();
+            player.getInput().pause();
             switchToMenu(Menu.MenuKind.PAUSE);
-            paused = true;
         }
     }
 
     public void resume() {
-        if (paused) {
-            pausedAnimations.forEach(a -> a.play());
-            pausedAnimations.clear();
+        if (clock.isPaused()) {
+            clock.resume();
+            player.getInput().resume();
             switchToGame();
-            paused = false;
+        }
+    }
+
+    private void startRecording(long gameSeed) {
+        stopRecording();
+        if (recordingPath == null || replay != null) {
+            return;
+        }
+        try {
+            recorder = new InputRecorder(recordingPath, gameSeed, testMode);
+        } catch (IOException ex) {
+            Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (IOException ex) {
+            Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        recorder = null;
+    }
+
+    private void readLaunchParameters(Map<String, String> parameters) {
+        if (parameters.containsKey("record")) {
+            recordingPath = Paths.get(parameters.get("record"));
+        }
+        if (parameters.containsKey("seed")) {
+            seed = Long.parseLong(parameters.get("seed"));
+        }
+        if (parameters.containsKey("replay-speed")) {
+            replaySpeed = Double.parseDouble(parameters.get("replay-speed"));
+            if (replaySpeed <= 0 || replaySpeed > GameClock.MAX_TIME_SCALE) {
+                throw new IllegalArgumentException("The replay speed must be positive and at most " + GameClock.MAX_TIME_SCALE);
+            }
+        }
+        if (parameters.containsKey("replay")) {
+            try {
+                replay = new InputReplay(Paths.get(parameters.get("replay")));
+            } catch (IOException ex) {
+                Logger.getLogger(Game.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    public void logFrameProfile() {  // in test mode, logs where the time of the recent frames went
+        if (testMode) {
+            Logger.getLogger(Game.class.getName()).log(Level.INFO, profiler.report());
+        }
+    }
+
+    public FrameProfiler<FramePhase> getProfiler() {
+        return profiler;
+    }
+
+    public void nextTimeScale() {   // in test mode, switches between normal speed, fast-forward and slow motion
+        if (testMode) {
+            testModeTimeScale = (testModeTimeScale + 1) % TEST_MODE_TIME_SCALES.length;
+            clock.setTimeScale(TEST_MODE_TIME_SCALES[testModeTimeScale]);
         }
     }
 
     private void endGame(boolean victory, String message) {
-        theEnd = true;
+        arena.end(victory);
         saveScoreIfNotAlreadySaved(victory);
         pointsVBox.getChildren().setAll(menu.createHighScoreTable());
         if (victory) {
             soundPlayer.playSoundEffect(SoundPlayer.SoundEffect.VICTORY);
         } else {
-            timer.stop();
+            timer.stopSimulation();
             soundPlayer.playSoundEffect(SoundPlayer.SoundEffect.DEFEAT);
         }
 
@@ -387,20 +642,23 @@ public class Game extends Application {
 
     public void reset() {
         timer.stop();
+        clock.reset();  // stops the animations of the previous game
+        profiler.clear();
+        testModeTimeScale = 0;
+
+        final long gameSeed = replay != null ? replay.getSeed() : seed != null ? seed : System.nanoTime();
+        RandomStream.seedAll(gameSeed);     // before the rooms are built
+        replayed = replay != null;
+        if (replayed) {
+            replay.rewind();
+            testMode = replay.isTestMode();
+            clock.setTimeScale(replaySpeed);
+        }
+        startRecording(gameSeed);
 
-        theEnd = false;
-        paused = false;
         scoreSaved = false;
 
-        roomOngoing = false;
-        remainingTime = DEFAULT_STARTING_TIME;
-        points = 0;
-        clocksAppeared = 0;
-        firstClockTaken = false;
-        heartExists = false;
-
         collisionObjects.clear();
-        pausedAnimations.clear();
         mainSubsceneRoot.getChildren().clear();
         HUDSubsceneRoot.getChildren().clear();
         addGameObjectsToMainSubscene();
@@ -420,67 +678,31 @@ public class Game extends Application {
         ambientLight = new AmbientLight(DEFAULT_AMBIENT_COLOR);
         mainSubsceneRoot.getChildren().add(ambientLight);
 
-        damageRedFlash = new Timeline(
+        damageRedFlash = clock.animate(new Timeline(
                 new KeyFrame(Duration.seconds(0.1), new KeyValue(ambientLight.colorProperty(), Color.RED, Interpolator.LINEAR)),
                 new KeyFrame(Duration.seconds(0.25), new KeyValue(ambientLight.colorProperty(), Color.RED, Interpolator.LINEAR)),
                 new KeyFrame(Duration.seconds(0.6), new KeyValue(ambientLight.colorProperty(), DEFAULT_AMBIENT_COLOR, Interpolator.EASE_IN))
-        );
+        ));
 
-        finishWhiteFlash = new Timeline(
+        finishWhiteFlash = clock.animate(new Timeline(
                 new KeyFrame(Duration.seconds(0.1), new KeyValue(ambientLight.colorProperty(), Color.WHITE, Interpolator.LINEAR)),
                 new KeyFrame(Duration.seconds(0.25), new KeyValue(ambientLight.colorProperty(), Color.WHITE, Interpolator.LINEAR)),
                 new KeyFrame(Duration.seconds(0.6), new KeyValue(ambientLight.colorProperty(), DEFAULT_AMBIENT_COLOR, Interpolator.EASE_IN))
-        );
+        ));
 
         final Vector firstRoomPosition = new Vector(0, 0, 0);
         final Vector playerStartPosition = firstRoomPosition.duplicate().setY(-Player.HEIGHT / 2).setZ(-BufferZone.DEFAULT_FLOOR_LENGTH / 4);
 
-        bufferZones = new BufferZone[4];
-        rooms = new Room[3];
-
-        BufferZone bz0 = new BufferZone(firstRoomPosition, this, false, true, "resources/pic1.jpg", "resources/pic2.jpg");
-        bufferZones[0] = bz0;
-        previousBufferZone = bz0;
-        mainSubsceneRoot.getChildren().add(bz0);
-        collisionObjects.addAll(bz0.getCollisionObjects());
+        arena = new ArenaModel(ROOM_KINDS.length, testMode);
+        roomStreamer = new RoomStreamer(this, mainSubsceneRoot, firstRoomPosition, ROOM_KINDS, WALL_PICTURES, ARENA_PICTURE, ARENA_PICTURE_SIZE);
+        roomStreamer.advanceTo(0);
+        portalCulling = new PortalCulling(roomStreamer);
+        trackLevelsOfDetail();
+        currentRoom = roomStreamer.getRoom(0);
+        previousBufferZone = roomStreamer.getBufferZone(0);
+        nextBufferZone = roomStreamer.getBufferZone(1);
         previousBufferZone.triggerEndGate();
 
-        roomWithSpikes = new RoomWithSpikes(bz0.getPosition().duplicate().add(0, 0, BufferZone.DEFAULT_FLOOR_LENGTH / 2 + RoomWithSpikes.DEFAULT_LENGTH / 2), this);
-        rooms[0] = roomWithSpikes;
-        currentRoomIndex = 0;
-        currentRoom = roomWithSpikes;
-        mainSubsceneRoot.getChildren().add(roomWithSpikes);
-        collisionObjects.addAll(roomWithSpikes.getCollisionObjects());
-
-        BufferZone bz1 = new BufferZone(roomWithSpikes.getPosition().duplicate().add(0, 0, RoomWithSpikes.DEFAULT_LENGTH / 2 + BufferZone.DEFAULT_FLOOR_LENGTH / 2), this, true, true, "resources/pic3.jpg", "resources/pic4.jpg");
-        bufferZones[1] = bz1;
-        nextBufferZone = bz1;
-        mainSubsceneRoot.getChildren().add(bz1);
-        collisionObjects.addAll(bz1.getCollisionObjects());
-
-        roomWithProjectiles = new RoomWithProjectiles(bz1.getPosition().duplicate().add(0, 0, BufferZone.DEFAULT_FLOOR_LENGTH / 2 + RoomWithProjectiles.DEFAULT_LENGTH / 2), this);
-        rooms[1] = roomWithProjectiles;
-        mainSubsceneRoot.getChildren().add(roomWithProjectiles);
-        collisionObjects.addAll(roomWithProjectiles.getCollisionObjects());
-
-        BufferZone bz2 = new BufferZone(roomWithProjectiles.getPosition().duplicate().add(0, 0, RoomWithProjectiles.DEFAULT_LENGTH / 2 + BufferZone.DEFAULT_FLOOR_LENGTH / 2), this, true, true, "resources/pic5.jpg", "resources/pic6.jpg");
-        bufferZones[2] = bz2;
-        mainSubsceneRoot.getChildren().add(bz2);
-        collisionObjects.addAll(bz2.getCollisionObjects());
-
-        roomWithBlades = new RoomWithBlades(bz2.getPosition().duplicate().add(0, 0, BufferZone.DEFAULT_FLOOR_LENGTH / 2 + RoomWithBlades.DEFAULT_LENGTH / 2), this);
-        rooms[2] = roomWithBlades;
-        mainSubsceneRoot.getChildren().add(roomWithBlades);
-        collisionObjects.addAll(roomWithBlades.getCollisionObjects());
-
-        BufferZone bz3 = new BufferZone(roomWithBlades.getPosition().duplicate().add(0, 0, RoomWithBlades.DEFAULT_LENGTH / 2 + BufferZone.DEFAULT_FLOOR_LENGTH / 2), this, true, false);
-        bufferZones[3] = bz3;
-        mainSubsceneRoot.getChildren().add(bz3);
-        collisionObjects.addAll(bz3.getCollisionObjects());
-
-        Picture arenaPic = new Picture(bz3.getPosition().duplicate().add(0, -Player.HEIGHT, BufferZone.DEFAULT_FLOOR_LENGTH / 2 - Wall.DEFAULT_THICKNESS - Picture.TOTAL_THICKNESS), "resources/logo2.png", BufferZone.DEFAULT_FLOOR_WIDTH / 2);
-        mainSubsceneRoot.getChildren().add(arenaPic);
-
         player = new Player(playerStartPosition, this);
         mainSubsceneRoot.getChildren().add(player);
 
@@ -544,7 +766,7 @@ public class Game extends Application {
         cam.setNearClip(Player.NEAR_CLIP);
         cam.setFarClip(Player.FAR_CLIP);
         camCarrier = new Group(cam);
-        camCarrier.setTranslateZ(rooms[0].getTranslateZ());
+        camCarrier.setTranslateZ(roomStreamer.getRoomPosition(0).getZ());
         camCarrier.setTranslateY(-Wall.DEFAULT_HEIGHT / 2);
         camCarrierRotX = new Rotate(-15, Rotate.X_AXIS);    // hardcoded starting value
         camCarrierRotY = new Rotate(0, Rotate.Y_AXIS);
@@ -558,16 +780,12 @@ public class Game extends Application {
                 mainSubscene.setCamera(player.getView());
                 break;
             case 2:
-                mainSubscene.setCamera(cam);
-                camCarrier.setTranslateZ(rooms[0].getTranslateZ());
-                break;
             case 3:
-                mainSubscene.setCamera(cam);
-                camCarrier.setTranslateZ(rooms[1].getTranslateZ());
-                break;
             case 4:
-                mainSubscene.setCamera(cam);
-                camCarrier.setTranslateZ(rooms[2].getTranslateZ());
+                if (number - 2 < roomStreamer.getNumberOfRooms()) {    // the room may not be resident, the camera only needs its position
+                    mainSubscene.setCamera(cam);
+                    camCarrier.setTranslateZ(roomStreamer.getRoomPosition(number - 2).getZ());
+                }
                 break;
         }
         if (mainSubscene.getCamera() == player.getView()) {
@@ -610,6 +828,9 @@ public class Game extends Application {
     @Override
     public void start(Stage primaryStage) {
         stage = primaryStage;
+        readLaunchParameters(getParameters().getNamed());
+
+        menu.setLoadingProgress(preloadAssets());
 
         globalScene = new Scene(globalRoot, WINDOW_WIDTH, WINDOW_HEIGHT);
         mainSubscene = new SubScene(mainSubsceneRoot, WINDOW_WIDTH, WINDOW_HEIGHT, true, SceneAntialiasing.BALANCED);
@@ -625,6 +846,28 @@ public class Game extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        stopRecording();
+    }
+
+    private ReadOnlyDoubleProperty preloadAssets() { // everything a game needs, loaded while the main menu is shown
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        loads.add(Assets.requestTask("meshes", Meshes::buildAll));
+        loads.add(Assets.requestImage(FloorWithTiles.FLOOR_IMAGE_RESOURCE));
+        loads.add(Assets.requestImage(FloorWithFlowers.FLOOR_IMAGE_RESOURCE));
+        loads.add(Assets.requestImage(Spikes.SPIKE_IMAGE_RESOURCE));
+        for (String picture : WALL_PICTURES) {
+            loads.add(Picture.requestImage(picture, Picture.DEFAULT_LONGER_SIDE_LENGTH));
+        }
+        loads.add(Picture.requestImage(ARENA_PICTURE, ARENA_PICTURE_SIZE));
+        for (SoundPlayer.SoundEffect effect : SoundPlayer.SoundEffect.values()) {
+            loads.add(Assets.requestAudioClip(effect.getResource()));
+        }
+        loads.add(Assets.requestMedia(SoundPlayer.MUSIC));
+        return Assets.track(loads);
+    }
+
     public int getCenterX() {
         return (int) (stage.getX() + stage.getWidth() / 2.0);
     }
@@ -634,20 +877,12 @@ public class Game extends Application {
     }
 
     public void saveScoreIfNotAlreadySaved(boolean gameWon) {
-        if (!scoreSaved) {
-            highScores.add(menu.getPlayerName(), points, gameWon);
+        if (!scoreSaved && !replayed) {    // a replayed game is not a new score
+            highScores.add(menu.getPlayerName(), arena.getPoints(), gameWon);
             scoreSaved = true;
         }
     }
 
-    public List<GameObject> getCollisionObjects() {
-        return collisionObjects;
-    }
-
-    public List<Animation> getPausedAnimations() {
-        return pausedAnimations;
-    }
-
     public SoundPlayer getSoundPlayer() {
         return soundPlayer;
     }
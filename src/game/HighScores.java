@@ -1,5 +1,6 @@
 package game;
 
+import diagnostics.ScoresExportEvent;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -133,10 +134,17 @@ public class HighScores {
     }
 
     void exportScores() {
+        ScoresExportEvent event = new ScoresExportEvent();
+        event.begin();
+        FileOutputStream fileStream = null;
         ObjectOutputStream outStream = null;
         try {
-            outStream = new ObjectOutputStream(new FileOutputStream(HIGHSCORES_FILENAME));
+            fileStream = new FileOutputStream(HIGHSCORES_FILENAME);
+            outStream = new ObjectOutputStream(fileStream);
             outStream.writeObject(highScores);
+            outStream.flush();
+            event.bytes = fileStream.getChannel().position();
+            event.succeeded = true;
         } catch (FileNotFoundException ex) {
             Logger.getLogger(HighScores.class.getName()).log(Level.WARNING, null, ex);
         } catch (IOException ex) {
@@ -146,11 +154,17 @@ public class HighScores {
                 if (outStream != null) {
                     outStream.flush();
                     outStream.close();
+                } else if (fileStream != null) {
+                    fileStream.close();
                 }
             } catch (IOException ex) {
                 Logger.getLogger(HighScores.class.getName()).log(Level.SEVERE, null, ex);
+                event.succeeded = false;
             }
         }
+        event.file = HIGHSCORES_FILENAME;
+        event.scores = highScores.size();
+        event.commit();
     }
 
 }
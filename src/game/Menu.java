@@ -8,10 +8,14 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.application.Platform;
 import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
 import javafx.event.Event;
@@ -23,6 +27,7 @@ import javafx.scene.SubScene;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextFormatter;
@@ -57,7 +62,10 @@ public class Menu implements EventHandler<Event> {
     private static final int MAX_NAME_LENGTH = 20;
     private String playerName = "";
 
-    private static final Image LOGO = new Image("resources/logo1 edit.png", Game.WINDOW_WIDTH / 1.7, Game.WINDOW_HEIGHT / 1.7, true, true); // or delegate certain parameters to ImageView?
+    private static final String LOGO = "resources/logo1 edit.png";
+    private final CompletableFuture<Image> logo = Assets.requestImage(LOGO, Game.WINDOW_WIDTH / 1.7, Game.WINDOW_HEIGHT / 1.7); // or delegate certain parameters to ImageView?
+
+    private ReadOnlyDoubleProperty loadingProgress = new SimpleDoubleProperty(1);   // the game cannot be started before the assets are loaded
 
     public Menu(Game game) {
         this.game = game;
@@ -146,28 +154,29 @@ public class Menu implements EventHandler<Event> {
                 currentMenu = MenuKind.MAIN;
                 root.setBackground(new Background(new BackgroundFill(Color.BLACK, CornerRadii.EMPTY, Insets.EMPTY)));
 
-                ImageView imageView = new ImageView(LOGO);
+                ImageView imageView = new ImageView(logo.getNow(null));
+                if (!logo.isDone()) {
+                    logo.thenAcceptAsync(imageView::setImage, Platform::runLater);
+                }
+
+                ProgressBar loadingBar = new ProgressBar();
+                loadingBar.progressProperty().bind(loadingProgress);
+                loadingBar.visibleProperty().bind(loadingProgress.lessThan(1));
+                loadingBar.managedProperty().bind(loadingBar.visibleProperty());
 
                 TextField nameField = new TextField(playerName);    // note: JavaFX TextField is prone to bugs when undo is performed
                 nameField.setAlignment(Pos.CENTER);
                 nameField.setPromptText("enter player name");
 
                 Button play = new Button("Play");
-                play.setDisable(playerName.isEmpty());
+                play.disableProperty().bind(nameField.textProperty().isEmpty().or(loadingProgress.lessThan(1)));
                 play.setOnAction(e -> {
                     game.reset();
                 });
 
                 UnaryOperator<TextFormatter.Change> lengthLimiter = c -> {
-                    if (c.isContentChange()) {
-                        if (c.getControlNewText().isEmpty()) {
-                            play.setDisable(true);
-                        } else {
-                            play.setDisable(false);
-                        }
-                        if (c.getControlNewText().length() > MAX_NAME_LENGTH) {
-                            return null;
-                        }
+                    if (c.isContentChange() && c.getControlNewText().length() > MAX_NAME_LENGTH) {
+                        return null;
                     }
                     return c;
                 };
@@ -208,7 +217,7 @@ public class Menu implements EventHandler<Event> {
                 Button exit = new Button("Exit");
                 exit.setOnAction(e -> System.exit(0));
 
-                vbox.getChildren().addAll(imageView, nameField, play, scores, options, exit);
+                vbox.getChildren().addAll(imageView, loadingBar, nameField, play, scores, options, exit);
             }
             break;
             case PAUSE: {
@@ -339,6 +348,10 @@ public class Menu implements EventHandler<Event> {
         return menuSubscene;
     }
 
+    public void setLoadingProgress(ReadOnlyDoubleProperty loadingProgress) {
+        this.loadingProgress = loadingProgress;
+    }
+
     public String getPlayerName() {
         return playerName;
     }
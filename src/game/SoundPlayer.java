@@ -1,7 +1,5 @@
 package game;
 
-import java.net.URL;
-import java.util.HashMap;
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
@@ -12,25 +10,28 @@ public class SoundPlayer {
     // Sound effects
     //================================================================================
     public enum SoundEffect {
-        COIN, HEART, CLOCK, DAMAGE, VICTORY, DEFEAT;
-    }
+        COIN("resources/coin2 trimmed3.wav"),
+        HEART("resources/heal1.wav"),
+        CLOCK("resources/clock1.wav"),
+        DAMAGE("resources/damage.wav"),
+        VICTORY("resources/victory.wav"),
+        DEFEAT("resources/defeat.wav");
+
+        private final String resource;
 
-    private final HashMap<SoundEffect, AudioClip> soundEffects = new HashMap<>(6);
+        private SoundEffect(String resource) {
+            this.resource = resource;
+        }
 
-    {
-        soundEffects.put(SoundEffect.COIN, loadAudioClip("resources/coin2 trimmed3.wav"));
-        soundEffects.put(SoundEffect.HEART, loadAudioClip("resources/heal1.wav"));
-        soundEffects.put(SoundEffect.CLOCK, loadAudioClip("resources/clock1.wav"));
-        soundEffects.put(SoundEffect.DAMAGE, loadAudioClip("resources/damage.wav"));
-        soundEffects.put(SoundEffect.VICTORY, loadAudioClip("resources/victory.wav"));
-        soundEffects.put(SoundEffect.DEFEAT, loadAudioClip("resources/defeat.wav"));
+        public String getResource() {
+            return resource;
+        }
     }
 
     private double soundEffectVolume = 1;
 
     public void setSoundEffectVolume(double vol) {
         soundEffectVolume = vol;
-        soundEffects.forEach((soundEffect, audioClip) -> audioClip.setVolume(vol));
     }
 
     public double getSoundEffectVolume() {
@@ -39,35 +40,55 @@ public class SoundPlayer {
 
     public void playSoundEffect(SoundEffect e) {
         if (soundEffectVolume > 0) {
-            soundEffects.get(e).play();
+            AudioClip clip = Assets.getAudioClip(e.getResource()); // loaded by the main menu, so this does not wait
+            if (clip != null) {
+                clip.play(soundEffectVolume);
+            }
         }
     }
 
     //================================================================================
     // Music
     //================================================================================
-    private final MediaPlayer MUSIC_PLAYER = new MediaPlayer(loadMedia("resources/funky music.mp3"));
+    public static final String MUSIC = "resources/funky music.mp3";
 
-    {
-        MUSIC_PLAYER.setCycleCount(MediaPlayer.INDEFINITE);
-    }
+    private MediaPlayer musicPlayer = null;    // created when the music is first played, if the music could be loaded
+    private double musicVolume = 1;
 
     public void playMusic() {
-        if (getMusicVolume() > 0) {
-            MUSIC_PLAYER.play();
+        if (musicVolume > 0 && getMusicPlayer() != null) {
+            musicPlayer.play();
         }
     }
 
     public void stopMusic() {
-        MUSIC_PLAYER.stop();
+        if (musicPlayer != null) {
+            musicPlayer.stop();
+        }
     }
 
     public void setMusicVolume(double vol) {
-        MUSIC_PLAYER.setVolume(vol);
+        musicVolume = vol;
+        if (musicPlayer != null) {
+            musicPlayer.setVolume(vol);
+        }
     }
 
     public double getMusicVolume() {
-        return MUSIC_PLAYER.getVolume();
+        return musicVolume;
+    }
+
+    private MediaPlayer getMusicPlayer() {
+        if (musicPlayer == null) {
+            Media music = Assets.getMedia(MUSIC);
+            if (music == null) {
+                return null;
+            }
+            musicPlayer = new MediaPlayer(music);
+            musicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
+            musicPlayer.setVolume(musicVolume);
+        }
+        return musicPlayer;
     }
 
     //================================================================================
@@ -88,16 +109,6 @@ public class SoundPlayer {
     //================================================================================
     // Utility
     //================================================================================
-    private AudioClip loadAudioClip(String resource) {
-        URL soundURL = this.getClass().getClassLoader().getResource(resource);
-        return new AudioClip(soundURL.toExternalForm());
-    }
-
-    private Media loadMedia(String resource) {
-        URL soundURL = this.getClass().getClassLoader().getResource(resource);
-        return new Media(soundURL.toExternalForm());
-    }
-
     public static String getVolumeString(double vol) {
         if (vol == 0) {
             return "off";
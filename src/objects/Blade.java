@@ -1,30 +1,22 @@
 package objects;
 
-import concepts.Animated;
 import concepts.DamagingObject;
 import concepts.Vector;
-import game.Game;
-import java.util.Arrays;
-import java.util.List;
-import javafx.animation.Animation;
 import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.ParallelTransition;
-import javafx.animation.PauseTransition;
-import javafx.animation.ScaleTransition;
-import javafx.animation.SequentialTransition;
-import javafx.animation.Timeline;
-import javafx.animation.TranslateTransition;
-import javafx.beans.value.WritableValue;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
-import javafx.util.Duration;
+import simulation.EntityStore;
+import simulation.RandomStream;
 
-public class Blade extends DamagingObject implements Animated {
+/*
+A blade that hangs from the ceiling. When triggered, it turns to a random angle, comes down, stays down and goes up
+again. The time since it was triggered is the phase of its entity in the store of the room, so it advances with the
+ticks, and the angle, the drop and the collision shape follow from it; the nodes only mirror them.
+ */
+public class Blade extends DamagingObject {
 
     public static final double HEIGHT = 120;
     public static final double THICKNESS = 15;
@@ -44,76 +36,99 @@ public class Blade extends DamagingObject implements Animated {
     public static final PhongMaterial BLADE_MATERIAL = Spikes.SPIKE_MATERIAL;
     public static final PhongMaterial ROPE_MATERIAL = new PhongMaterial(Color.BLACK);
 
-    private final SequentialTransition downUp;
-    private final Rotate rotate;
-    private final Timeline rotation;
+    private final double width;
+    private final double fallDistance;
 
-    public Blade(Vector position, double width, double fallDistance) {
+    private final Box blade;
+    private final Cylinder rope;
+    private final Rotate rotate = new Rotate(0, Rotate.Y_AXIS);
+
+    private double angle = 0;
+    private double startAngle = 0;  // of the turn after a trigger
+    private double targetAngle = 0;
+
+    public Blade(Vector position, double width, double fallDistance, Vector floorPosition, EntityStore store) {
         super(position);
+        this.width = width;
+        this.fallDistance = fallDistance;
 
-        Box blade = new Box(width, HEIGHT, THICKNESS);
+        blade = new Box(width, HEIGHT, THICKNESS);
         blade.setMaterial(BLADE_MATERIAL);
         this.getChildren().add(blade);
-        
-        Cylinder rope = new Cylinder(THICKNESS / 3, 1);
+
+        rope = new Cylinder(THICKNESS / 3, 1);
         rope.setMaterial(ROPE_MATERIAL);
-        rope.setTranslateY(-blade.getHeight() / 2);
         this.getChildren().add(rope);
 
-        TranslateTransition bladeDown = new TranslateTransition(Duration.seconds(COME_DOWN_TIME), blade);
-        bladeDown.setByY(fallDistance);
-        TranslateTransition ropeDown = new TranslateTransition(Duration.seconds(COME_DOWN_TIME), rope);
-        ropeDown.setByY(fallDistance / 2);
-        ScaleTransition ropeExtend = new ScaleTransition(Duration.seconds(COME_DOWN_TIME), rope);
-        ropeExtend.setToY(fallDistance);
-        ParallelTransition down = new ParallelTransition(bladeDown, ropeDown, ropeExtend);
-        
-        PauseTransition stayDown = new PauseTransition(Duration.seconds(STAY_DOWN_TIME));
-        
-        TranslateTransition bladeUp = new TranslateTransition(Duration.seconds(COME_UP_TIME), blade);
-        bladeUp.setByY(-fallDistance);
-        TranslateTransition ropeUp = new TranslateTransition(Duration.seconds(COME_UP_TIME), rope);
-        ropeUp.setByY(-fallDistance / 2);
-        ScaleTransition ropeContract = new ScaleTransition(Duration.seconds(COME_UP_TIME), rope);
-        ropeContract.setToY(1);
-        ParallelTransition up = new ParallelTransition(bladeUp, ropeUp, ropeContract);
-        
-        downUp = new SequentialTransition(down, stayDown, up);
-        downUp.setOnFinished(e -> this.setDamaging(true));
-
-        rotate = new Rotate();
-        rotate.setAxis(Rotate.Y_AXIS);
         this.getTransforms().add(rotate);
-        rotation = new Timeline(    // see rotateToRandomAngle() before adding any more keyframes
-                new KeyFrame(Duration.seconds(ROTATION_TIME), new KeyValue(rotate.angleProperty(), -180. + Game.RANDOM.nextDouble() * 360., Interpolator.EASE_BOTH))
-        );
-//        rotation.setOnFinished(e -> {
-//            WritableValue<Double> target = (WritableValue<Double>) rotation.getKeyFrames().get(0).getValues().iterator().next().getTarget();
-//            target.setValue(-180. + Game.RANDOM.nextDouble() * 360.);
-//        });
+
+        addToStore(store);
+        // the blade is a child of its floor, while the store has its origin where the room is
+        store.setPosition(getEntity(), floorPosition.getX() + position.getX(), floorPosition.getY() + position.getY(), floorPosition.getZ() + position.getZ());
+        setPose(randomAngle(), 0);
     }
 
-    public void trigger() {
-        if (downUp.getStatus() != Animation.Status.STOPPED) {
+    private static double randomAngle() {
+        return -180. + RandomStream.BLADES.get().nextDouble() * 360.;
+    }
+
+    public void trigger() {     // turns, then comes down and goes up again; ignored while the previous trigger lasts
+        if (getStore().isTimed(getEntity())) {
             return;
         }
-        downUp.play();
+        startAngle = angle;
+        targetAngle = randomAngle();
+        getStore().startPhase(getEntity());
     }
 
-    public Double rotateToRandomAngle() {
-        if (rotation.getStatus() != Animation.Status.STOPPED) {
-            return null;
+    @Override
+    public void sync() {
+        final double seconds = getStore().getPhase(getEntity());
+        if (seconds < ROTATION_TIME) {
+            setPose(Interpolator.EASE_BOTH.interpolate(startAngle, targetAngle, seconds / ROTATION_TIME), 0);
+        } else if (seconds < ROTATION_TIME + COME_UP_MOMENT) {
+            setPose(targetAngle, dropAt(seconds - ROTATION_TIME));
+        } else {
+            setPose(targetAngle, 0);
+            getStore().stopPhase(getEntity());
+            setDamaging(true);
         }
-        WritableValue<Double> target = (WritableValue<Double>) rotation.getKeyFrames().get(0).getValues().iterator().next().getTarget();    // assumes there is only one KeyFrame
-        Double angle = -180. + Game.RANDOM.nextDouble() * 360.;
-        target.setValue(angle);
-        rotation.play();
-        return angle;
     }
 
-    @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(downUp, rotation);
+    public void stop() {    // back up, e.g. when the room is finished
+        getStore().stopPhase(getEntity());
+        setPose(angle, 0);
+        setDamaging(true);
+    }
+
+    private double dropAt(double seconds) {   // the time since the blade started coming down
+        if (seconds < COME_DOWN_MOMENT) {
+            return Interpolator.EASE_BOTH.interpolate(0., fallDistance, seconds / COME_DOWN_TIME);
+        } else if (seconds < STAY_DOWN_MOMENT) {
+            return fallDistance;
+        } else {
+            return Interpolator.EASE_BOTH.interpolate(fallDistance, 0., (seconds - STAY_DOWN_MOMENT) / COME_UP_TIME);
+        }
+    }
+
+    private void setPose(double angle, double drop) {
+        this.angle = angle;
+        rotate.setAngle(angle);
+        blade.setTranslateY(drop);
+        final double ropeLength = 1 + (fallDistance - 1) * (fallDistance > 0 ? drop / fallDistance : 0);
+        rope.setScaleY(ropeLength);
+        rope.setTranslateY(-HEIGHT / 2 + drop / 2);
+
+        // the box of the blade turned about the Y axis, and the rope above it
+        final double cos = Math.abs(Math.cos(Math.toRadians(angle)));
+        final double sin = Math.abs(Math.sin(Math.toRadians(angle)));
+        final double halfX = cos * width / 2 + sin * THICKNESS / 2;
+        final double halfZ = sin * width / 2 + cos * THICKNESS / 2;
+        getStore().setShape(getEntity(), -halfX, -HEIGHT / 2 + drop / 2 - ropeLength / 2, -halfZ, halfX, HEIGHT / 2 + drop, halfZ);
+    }
+
+    public double getAngle() {
+        return angle;
     }
 
 }
@@ -1,30 +1,22 @@
 package objects;
 
-import concepts.Animated;
-import concepts.GameObject;
+import concepts.CollectibleObject;
 import concepts.Vector;
-import java.util.Arrays;
 import java.util.Calendar;
-import java.util.List;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.RotateTransition;
-import javafx.animation.Timeline;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
-import javafx.util.Duration;
 
-public class Clock extends GameObject implements Animated {
+public class Clock extends CollectibleObject {
 
     public static final double RADIUS = 50;
     public static final double THICKNESS = 15;
-
-    private static final double ROTATION_TIME = 2;
+    public static final double DETAIL_DISTANCE = 1_500;
 
     private static final PhongMaterial BLACK = new PhongMaterial(Color.BLACK);
     private static final PhongMaterial WHITE = new PhongMaterial(Color.WHITE);
@@ -38,8 +30,6 @@ public class Clock extends GameObject implements Animated {
         MINUTE_HAND_ANGLE = cal.get(Calendar.MINUTE) / 60. * 360.;
         HOUR_HAND_ANGLE = cal.get(Calendar.HOUR) / 12. * 360.;
     }
-    
-    private final RotateTransition rotateTransition;
 
     public Clock(Vector position) {
         super(position);
@@ -53,17 +43,23 @@ public class Clock extends GameObject implements Animated {
                 new Rotate(180., Rotate.Z_AXIS),
                 new Translate(0, -THICKNESS * 0.1, 0)
         );
-        this.getChildren().addAll(frame, frontFace, rearFace);
+        setLevelsOfDetail(DETAIL_DISTANCE, new Group(frame, frontFace, rearFace), Clock::createSimplified, Clock::createImpostor);
 
         this.getTransforms().add(new Rotate(90, Rotate.X_AXIS));
+    }
 
-        rotateTransition = new RotateTransition(Duration.seconds(ROTATION_TIME), this);
-        rotateTransition.setAxis(Rotate.Y_AXIS);
-        rotateTransition.setFromAngle(0);
-        rotateTransition.setToAngle(360);
-        rotateTransition.setInterpolator(Interpolator.LINEAR);
-        rotateTransition.setCycleCount(Timeline.INDEFINITE);
-        rotateTransition.play();
+    private static Node createSimplified() {  // the frame and both faces, without the marks and hands
+        Cylinder frame = new Cylinder(RADIUS, THICKNESS, 16);
+        frame.setMaterial(BLACK);
+        Cylinder faces = new Cylinder(RADIUS * 9 / 10, THICKNESS * 1.2, 16);
+        faces.setMaterial(WHITE);
+        return new Group(frame, faces);
+    }
+
+    private static Node createImpostor() {
+        Box clock = new Box(RADIUS * 1.4, THICKNESS, RADIUS * 1.4);
+        clock.setMaterial(WHITE);
+        return clock;
     }
 
     private Group createClockFace() {
@@ -100,9 +96,4 @@ public class Clock extends GameObject implements Animated {
         return clockFace;
     }
 
-    @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(rotateTransition);
-    }
-
 }
@@ -1,33 +1,24 @@
 package objects;
 
-import concepts.Animated;
-import concepts.GameObject;
+import concepts.CollectibleObject;
 import concepts.Vector;
-import java.util.Arrays;
-import java.util.List;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.RotateTransition;
-import javafx.animation.Timeline;
 import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
-import javafx.util.Duration;
 
-public class Coin extends GameObject implements Animated {
+public class Coin extends CollectibleObject {
 
     public static final double RADIUS = 50;
     public static final double THICKNESS = 15;
-
-    private static final double ROTATION_TIME = 2;
+    public static final double DETAIL_DISTANCE = 2_000;
 
     private static final PhongMaterial GOLD = new PhongMaterial(Color.GOLD);
     private static final PhongMaterial SILVER = new PhongMaterial(Color.SILVER);
-    
-    private final RotateTransition rotateTransition;
 
     public Coin(Vector position) {
         super(position);
@@ -42,22 +33,21 @@ public class Coin extends GameObject implements Animated {
         deco2.setMaterial(GOLD);
         deco2.getTransforms().add(new Rotate(45, new Point3D(0, 1, 0)));
 
-        this.getChildren().addAll(outer, inner, deco1, deco2);
+        setLevelsOfDetail(DETAIL_DISTANCE, new Group(outer, inner, deco1, deco2), Coin::createSimplified, Coin::createImpostor);
 
         this.getTransforms().add(new Rotate(90, Rotate.X_AXIS));
+    }
 
-        rotateTransition = new RotateTransition(Duration.seconds(ROTATION_TIME), this);
-        rotateTransition.setAxis(Rotate.Y_AXIS);
-        rotateTransition.setFromAngle(0);
-        rotateTransition.setToAngle(360);
-        rotateTransition.setInterpolator(Interpolator.LINEAR);
-        rotateTransition.setCycleCount(Timeline.INDEFINITE);
-        rotateTransition.play();
+    private static Node createSimplified() {
+        Cylinder coin = new Cylinder(RADIUS, THICKNESS, 16);
+        coin.setMaterial(GOLD);
+        return coin;
     }
 
-    @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(rotateTransition);
+    private static Node createImpostor() {
+        Box coin = new Box(RADIUS * 1.4, THICKNESS, RADIUS * 1.4);
+        coin.setMaterial(GOLD);
+        return coin;
     }
 
 }
@@ -0,0 +1,109 @@
+package objects;
+
+import concepts.CollectibleObject;
+import concepts.Vector;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import javafx.scene.Group;
+
+/*
+Coins, clocks and hearts of a room. They are built once, attached to the room and then only moved, shown and hidden, so
+collecting one and placing another creates no nodes or animations. The pool also spins the ones in use, which are kept
+in a dense list, each knowing its index, so that one is released in constant time.
+ */
+public class CollectiblePool {
+
+    private final Group parent;
+
+    private final ArrayDeque<Coin> freeCoins = new ArrayDeque<>();
+    private final ArrayDeque<Clock> freeClocks = new ArrayDeque<>();
+    private final ArrayDeque<Heart> freeHearts = new ArrayDeque<>();
+    private final ArrayList<CollectibleObject> shown = new ArrayList<>();
+
+    public CollectiblePool(Group parent) {
+        this.parent = parent;
+    }
+
+    public void prefill(int coins, int clocks, int hearts) {
+        for (int i = 0; i < coins; i++) {
+            release(attach(new Coin(new Vector(0, 0, 0))));
+        }
+        for (int i = 0; i < clocks; i++) {
+            release(attach(new Clock(new Vector(0, 0, 0))));
+        }
+        for (int i = 0; i < hearts; i++) {
+            release(attach(new Heart(new Vector(0, 0, 0))));
+        }
+    }
+
+    public CollectibleObject obtain(FloorWithTiles.PopulateOption option, double x, double y, double z) {
+        CollectibleObject object = null;
+        switch (option) {
+            case COIN: {
+                object = freeCoins.poll();
+                break;
+            }
+            case CLOCK: {
+                object = freeClocks.poll();
+                break;
+            }
+            case HEART: {
+                object = freeHearts.poll();
+                break;
+            }
+        }
+        if (object == null) {   // more than were prefilled are in use at the same time
+            object = attach(create(option));
+        }
+        object.moveTo(x, y, z);
+        object.show();
+        object.setShownIndex(shown.size());
+        shown.add(object);
+        return object;
+    }
+
+    public void release(CollectibleObject object) {
+        object.hide();
+        final int index = object.getShownIndex();
+        if (index >= 0) {   // the last shown object takes its place
+            final CollectibleObject last = shown.remove(shown.size() - 1);
+            if (last != object) {
+                shown.set(index, last);
+                last.setShownIndex(index);
+            }
+            object.setShownIndex(-1);
+        }
+        if (object instanceof Coin) {
+            freeCoins.push((Coin) object);
+        } else if (object instanceof Clock) {
+            freeClocks.push((Clock) object);
+        } else if (object instanceof Heart) {
+            freeHearts.push((Heart) object);
+        }
+    }
+
+    public void spin(double seconds) {
+        for (int i = 0; i < shown.size(); i++) {
+            shown.get(i).spin(seconds);
+        }
+    }
+
+    private CollectibleObject create(FloorWithTiles.PopulateOption option) {
+        switch (option) {
+            case COIN:
+                return new Coin(new Vector(0, 0, 0));
+            case CLOCK:
+                return new Clock(new Vector(0, 0, 0));
+            case HEART:
+                return new Heart(new Vector(0, 0, 0));
+            default:
+                throw new IllegalArgumentException("Unknown populate option: " + option);
+        }
+    }
+
+    private CollectibleObject attach(CollectibleObject object) {
+        parent.getChildren().add(object);
+        return object;
+    }
+
+}
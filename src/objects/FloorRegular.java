@@ -11,7 +11,7 @@ public class FloorRegular extends Floor {
         
         Box floor = new Box(width, FLOOR_HEIGHT, length);
         floor.setMaterial(material);
-        this.getChildren().add(floor);
+        this.getChildren().add(StaticBatch.markStatic(floor));
     }
 
 }
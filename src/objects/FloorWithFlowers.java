@@ -1,17 +1,19 @@
 package objects;
 
 import concepts.Vector;
-import game.Game;
+import game.Assets;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.transform.Rotate;
+import simulation.RandomStream;
 
 public class FloorWithFlowers extends FloorRegular {
 
     public static final Color DEFAULT_FLOOR_COLOR = Color.GREEN;
     public static final PhongMaterial FLOOR_MATERIAL = new PhongMaterial(DEFAULT_FLOOR_COLOR);
-    public static final Image FLOOR_IMAGE = new Image("resources/grass.jpg");
+    public static final String FLOOR_IMAGE_RESOURCE = "resources/grass.jpg";
+    public static final Image FLOOR_IMAGE = Assets.getImage(FLOOR_IMAGE_RESOURCE);
 
     static {
         FLOOR_MATERIAL.setDiffuseMap(FLOOR_IMAGE);
@@ -27,11 +29,11 @@ public class FloorWithFlowers extends FloorRegular {
     public FloorWithFlowers(Vector position, double width, double length, int minFlowers, int maxFlowers) {
         super(position, width, length, FLOOR_MATERIAL);
 
-        final int numOfFlowers = Game.RANDOM.nextInt(maxFlowers - minFlowers + 1) + minFlowers;
+        final int numOfFlowers = RandomStream.SCENERY.get().nextInt(maxFlowers - minFlowers + 1) + minFlowers;
         for (int i = 0; i < numOfFlowers; i++) {
-            Flower flower = new Flower(new Vector(-width / 2 + Game.RANDOM.nextDouble() * width, -Flower.STEM_HEIGHT / 2, -length / 2 + Game.RANDOM.nextDouble() * length));
-            flower.getTransforms().add(new Rotate(Game.RANDOM.nextDouble() * 360, Rotate.Y_AXIS));
-            this.getChildren().add(flower);
+            Flower flower = new Flower(new Vector(-width / 2 + RandomStream.SCENERY.get().nextDouble() * width, -Flower.STEM_HEIGHT / 2, -length / 2 + RandomStream.SCENERY.get().nextDouble() * length));
+            flower.getTransforms().add(new Rotate(RandomStream.SCENERY.get().nextDouble() * 360, Rotate.Y_AXIS));
+            this.getChildren().add(StaticBatch.markStatic(flower));
         }
     }
 
@@ -1,21 +1,17 @@
 package objects;
 
 import concepts.Animated;
+import concepts.ClockedAnimation;
 import concepts.Vector;
-import game.Game;
+import diagnostics.HazardTriggerEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
-import javafx.util.Duration;
 import rooms.RoomWithProjectiles;
+import simulation.RandomStream;
+import simulation.TimerWheel;
 
 public class FloorWithProjectiles extends FloorWithTiles implements Animated {
 
@@ -24,8 +20,12 @@ public class FloorWithProjectiles extends FloorWithTiles implements Animated {
     public static final double TILES_COOLDOWN_MOMENT = TILES_REVERTING_TO_DEFAULT_COLOR_MOMENT * 4. / 3.;
 
     private final double launchDistance;
-    private final Timeline[] launching;
-    private final ConcurrentLinkedDeque<Projectile> projectilesToLaunch = new ConcurrentLinkedDeque<>();    // or use ArrayDeque<Projectile> and synchronize?
+    private final boolean[] activeRows;
+
+    public static final int PROJECTILES_PER_ROW = 3;    // a row is launched again before its previous projectile has decayed
+    private final List<Projectile> projectiles = new ArrayList<>();
+    private final ArrayDeque<Projectile> idleProjectiles = new ArrayDeque<>();
+    private final List<ClockedAnimation> animations = new ArrayList<>();  // of the projectiles
 
     private final RoomWithProjectiles parentRoom;
 
@@ -34,54 +34,81 @@ public class FloorWithProjectiles extends FloorWithTiles implements Animated {
         this.parentRoom = parentRoom;
         this.launchDistance = launchDistance;
 
-        launching = new Timeline[numOfTilesZ];
-        for (int i = 0; i < launching.length; i++) {
-            final int zIndex = i;
-            launching[i] = new Timeline(
-                    new KeyFrame(Duration.ZERO, r -> createProjectileOnRandomSide(zIndex, TILES_BECOMING_RED_MOMENT)),
-                    new KeyFrame(Duration.seconds(TILES_BECOMING_RED_MOMENT), "warnAndLaunch", r -> launchLastCreatedProjectile(), Arrays.stream(tiles).map(col -> col[zIndex]).map(tile -> new KeyValue(((PhongMaterial) tile.getMaterial()).diffuseColorProperty(), Color.RED, Interpolator.LINEAR)).toArray(KeyValue[]::new)),
-                    new KeyFrame(Duration.seconds(TILES_REVERTING_TO_DEFAULT_COLOR_MOMENT), "revertColor", Arrays.stream(tiles).map(col -> col[zIndex]).map(tile -> new KeyValue(((PhongMaterial) tile.getMaterial()).diffuseColorProperty(), DEFAULT_FLOOR_COLOR, Interpolator.LINEAR)).toArray(KeyValue[]::new)),
-                    new KeyFrame(Duration.seconds(TILES_COOLDOWN_MOMENT), "cooldown")
-            );
+        activeRows = new boolean[numOfTilesZ];
+
+        for (int i = 0; i < numOfTilesZ * PROJECTILES_PER_ROW; i++) {
+            Projectile projectile = new Projectile(TILES_BECOMING_RED_MOMENT, this);
+            projectiles.add(projectile);
+            idleProjectiles.push(projectile);
+            animations.addAll(projectile.getAnimations());
         }
     }
 
-    public void triggerProjectileOnRandomRow() {
-        int i = Game.RANDOM.nextInt(launching.length);
-        if (launching[i].getStatus() != Animation.Status.STOPPED) {
+    public void triggerProjectileOnRandomRow(TimerWheel scheduler) {
+        int j = RandomStream.HAZARDS.get().nextInt(activeRows.length);
+        HazardTriggerEvent event = new HazardTriggerEvent();
+        event.hazard = HazardTriggerEvent.PROJECTILE;
+        event.tileX = -1;
+        event.tileZ = j;
+        event.triggered = !activeRows[j] && !idleProjectiles.isEmpty();
+        event.commit();
+        if (!event.triggered) {
             return;
         }
-        launching[i].play();
+        setRowActive(j, true);
+        Projectile projectile = launchProjectileOnRandomSide(j);
+        fadeRow(scheduler, j, WARNING_TILE, TILES_BECOMING_RED_MOMENT);  // warning
+        scheduler.schedule(TILES_BECOMING_RED_MOMENT, () -> {
+            projectile.animateMovementThenDecayAndRemove();
+            fadeRow(scheduler, j, NORMAL_TILE, TILES_REVERTING_TO_DEFAULT_COLOR_MOMENT - TILES_BECOMING_RED_MOMENT);
+        });
+        scheduler.schedule(TILES_COOLDOWN_MOMENT, () -> setRowActive(j, false));
+    }
+
+    private void setRowActive(int j, boolean isActive) {
+        activeRows[j] = isActive;
+        for (int i = 0; i < tiles.length; i++) {
+            tileStates.setActive(i, j, isActive);
+        }
     }
 
-    private void createProjectileOnRandomSide(int tileZIndex, double creationDurationSeconds) {
-        final int indexFactor = Game.RANDOM.nextInt(2);
+    private void fadeRow(TimerWheel scheduler, int j, int level, double seconds) {
+        for (int i = 0; i < tiles.length; i++) {
+            fadeTile(scheduler, i, j, level, seconds);
+        }
+    }
+
+    private Projectile launchProjectileOnRandomSide(int tileZIndex) {
+        final int indexFactor = RandomStream.HAZARDS.get().nextInt(2);
         final int tileXIndex = indexFactor * (tiles.length - 1);
         Box closestTile = tiles[tileXIndex][tileZIndex];
-        final Vector creationPosition = new Vector(closestTile.getTranslateX() + (indexFactor == 0 ? -1 : 1) * (closestTile.getWidth() / 2 + launchDistance), POPULATING_OBJECT_START_Y - Projectile.RADIUS, closestTile.getTranslateZ());
-        final Vector targetPosition = creationPosition.duplicate().setX(-creationPosition.getX());
-        Projectile projectile = Projectile.createAndAddToChildrenAndForCollision(creationPosition, targetPosition, creationDurationSeconds, Projectile.DEFAULT_SPEED, this);
-        projectilesToLaunch.add(projectile);
-        projectile.animateCreation();
+        final double x = closestTile.getTranslateX() + (indexFactor == 0 ? -1 : 1) * (closestTile.getWidth() / 2 + launchDistance);
+        final double y = POPULATING_OBJECT_START_Y - Projectile.RADIUS;
+        final double z = closestTile.getTranslateZ();
+        Projectile projectile = idleProjectiles.pop();
+        projectile.appear(x, y, z, -x, y, z, Projectile.DEFAULT_SPEED);
+        parentRoom.activateProjectile(projectile);
+        return projectile;
     }
 
-    private void launchLastCreatedProjectile() {
-        Projectile projectile = projectilesToLaunch.poll();
-        if (projectile != null) {
-            projectile.animateMovementThenDecayAndRemove();
-        }
+    public void releaseProjectile(Projectile projectile) {   // only one that is not idle yet
+        projectile.hide();
+        idleProjectiles.push(projectile);
     }
 
     @Override
-    protected boolean isTileActive(int i, int j) {
-        return launching[j].getStatus() != Animation.Status.STOPPED;
+    public List<ClockedAnimation> getAnimations() {
+        return animations;
+    }
+
+    public List<Projectile> getProjectiles() {
+        return projectiles;
     }
 
     @Override
-    public List<Animation> getAnimations() {
-        List<Animation> animations = Animated.super.getAnimations();
-        animations.addAll(Arrays.asList(launching));
-        return animations;
+    public void resetTiles() {
+        super.resetTiles();
+        Arrays.fill(activeRows, false);
     }
 
     public double getLaunchDistance() {
@@ -1,80 +1,114 @@
 package objects;
 
-import concepts.Animated;
 import concepts.Vector;
-import game.Game;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
-import javafx.util.Duration;
+import diagnostics.HazardTriggerEvent;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import simulation.EntityStore;
+import simulation.RandomStream;
+import simulation.SpikesModel;
+import simulation.TimerWheel;
 
-public class FloorWithSpikes extends FloorWithTiles implements Animated {
-
-    public static final double FIXED_ADDITIONAL_REACT_TIME_SEC = 0.5;
+public class FloorWithSpikes extends FloorWithTiles {
 
     private final Spikes[][] spikes;
-    private final Timeline[][] spikesAndTilesAnimations;
+    private final double timeToReact;
+
+    // All spikes of the floor are drawn by one mesh; raising the spikes of a tile rewrites the Y coordinates of its points.
+    private final TriangleMesh spikesMesh = new TriangleMesh();
+    private final float[] spikePoints;
+    private final float[] loweredSpikePoints;
 
-    public FloorWithSpikes(Vector position, double width, double length, int numOfTilesX, int numOfTilesZ) {
+    public FloorWithSpikes(Vector position, double width, double length, int numOfTilesX, int numOfTilesZ, EntityStore hazards) {
         super(position, width, length, numOfTilesX, numOfTilesZ);
         
         spikes = new Spikes[numOfTilesX][numOfTilesZ];
-        spikesAndTilesAnimations = new Timeline[numOfTilesX][numOfTilesZ];
 
         final double tileWidth = width / numOfTilesX;
         final double tileLength = length / numOfTilesZ;
-        final double timeToReact = FIXED_ADDITIONAL_REACT_TIME_SEC + (tileWidth > tileLength ? tileLength : tileWidth) / Player.WALK_SPEED / 60; // 60 is the frequency of UpdateTimer
+        timeToReact = SpikesModel.timeToReact(tileWidth, tileLength);
         for (int i = 0; i < numOfTilesX; i++) {
             for (int j = 0; j < numOfTilesZ; j++) {
-                Spikes s = new Spikes(new Vector(tiles[i][j].getTranslateX(), tiles[i][j].getTranslateY() + Spikes.SPIKE_HEIGHT / 20, tiles[i][j].getTranslateZ()), tileWidth, tileLength); // the additional Y value is to avoid texture bugs
+                Spikes s = new Spikes(new Vector(tiles[i][j].getTranslateX(), tiles[i][j].getTranslateY() + Spikes.SPIKE_HEIGHT / 20, tiles[i][j].getTranslateZ()), tileWidth, tileLength, this, hazards); // the additional Y value is to avoid texture bugs
                 spikes[i][j] = s;
-                spikesAndTilesAnimations[i][j] = new Timeline(
-                        new KeyFrame(Duration.seconds(timeToReact), e -> s.trigger(), new KeyValue(((PhongMaterial) tiles[i][j].getMaterial()).diffuseColorProperty(), Color.RED, Interpolator.LINEAR)),
-                        new KeyFrame(Duration.seconds(timeToReact + Spikes.STAY_UP_MOMENT), new KeyValue(((PhongMaterial) tiles[i][j].getMaterial()).diffuseColorProperty(), Color.RED, Interpolator.LINEAR)),
-                        new KeyFrame(Duration.seconds(timeToReact + Spikes.COME_DOWN_MOMENT), /*e -> s.setDamaging(true), --- done in Spikes object itself*/ new KeyValue(((PhongMaterial) tiles[i][j].getMaterial()).diffuseColorProperty(), DEFAULT_FLOOR_COLOR, Interpolator.LINEAR))
-                );
             }
-            this.getChildren().addAll(spikes[i]);
         }
+
+        int spikeCount = 0;
+        for (Spikes[] sArr : spikes) {
+            for (Spikes s : sArr) {
+                spikeCount += s.getSpikeCount();
+            }
+        }
+        loweredSpikePoints = new float[spikeCount * Spikes.POINTS_PER_SPIKE * 3];
+        int[] faces = new int[spikeCount * Spikes.FACES_PER_SPIKE * 6];
+        int pointIndex = 0;
+        int faceIndex = 0;
+        for (int i = 0; i < numOfTilesX; i++) {
+            for (int j = 0; j < numOfTilesZ; j++) {
+                Spikes s = spikes[i][j];
+                s.firstPoint = pointIndex * 3;
+                // the Spikes objects end up as children of the room, so the mesh is offset by the position of this floor
+                s.writePoints(loweredSpikePoints, pointIndex * 3, s.getTranslateX(), s.getTranslateY() - position.getY(), s.getTranslateZ());
+                for (int k = 0; k < s.getSpikeCount(); k++) {
+                    Spikes.writeFaces(faces, faceIndex, pointIndex);
+                    pointIndex += Spikes.POINTS_PER_SPIKE;
+                    faceIndex += Spikes.FACES_PER_SPIKE * 6;
+                }
+            }
+        }
+        spikePoints = loweredSpikePoints.clone();
+        spikesMesh.getPoints().setAll(spikePoints);
+        spikesMesh.getTexCoords().setAll(Spikes.TEX_COORDS);
+        spikesMesh.getFaces().setAll(faces);
+        MeshView spikesView = new MeshView(spikesMesh);
+        spikesView.setMaterial(Spikes.SPIKE_MATERIAL);
+        this.getChildren().add(spikesView);
     }
 
-    public void triggerSpikesOnRandomTile() {
-        int i = Game.RANDOM.nextInt(tiles.length);
-        int j = Game.RANDOM.nextInt(tiles[i].length);
-        if (tiles[i][j].getUserData() != null || spikesAndTilesAnimations[i][j].getStatus() != Animation.Status.STOPPED) {
+    public void triggerSpikesOnRandomTile(TimerWheel scheduler) {
+        int i = RandomStream.HAZARDS.get().nextInt(tiles.length);
+        int j = RandomStream.HAZARDS.get().nextInt(tiles[i].length);
+        HazardTriggerEvent event = new HazardTriggerEvent();
+        event.hazard = HazardTriggerEvent.SPIKES;
+        event.tileX = i;
+        event.tileZ = j;
+        event.triggered = !tileStates.isOccupied(i, j) && !tileStates.isActive(i, j);
+        event.commit();
+        if (!event.triggered) {
             return;
         }
-        spikesAndTilesAnimations[i][j].play();
+        tileStates.setActive(i, j, true);
+        fadeTile(scheduler, i, j, WARNING_TILE, timeToReact);  // warning
+        scheduler.schedule(timeToReact, spikes[i][j]::raise);
+        scheduler.schedule(timeToReact + SpikesModel.STAY_UP_MOMENT, () -> fadeTile(scheduler, i, j, NORMAL_TILE, SpikesModel.COME_DOWN_MOMENT - SpikesModel.STAY_UP_MOMENT));
+        scheduler.schedule(timeToReact + SpikesModel.COME_DOWN_MOMENT, () -> tileStates.setActive(i, j, false));
+    }
+
+    void setSpikesRaise(Spikes s, double raise) {
+        s.setRaise(raise);
+        final int from = s.firstPoint;
+        final int length = s.getSpikeCount() * Spikes.POINTS_PER_SPIKE * 3;
+        for (int k = from + 1; k < from + length; k += 3) {
+            spikePoints[k] = loweredSpikePoints[k] - (float) raise;
+        }
+        spikesMesh.getPoints().set(from, spikePoints, from, length);
     }
 
     public Spikes[][] getSpikes() {
         return spikes;
     }
-    
-    @Override
-    protected boolean isTileActive(int i, int j) {
-        return spikesAndTilesAnimations[i][j].getStatus() != Animation.Status.STOPPED;
-    }
 
     @Override
-    public List<Animation> getAnimations() {
-        ArrayList<Animation> list = new ArrayList<>();
-        for (Spikes[] sArr : spikes) {
-            for (Spikes s : sArr) {
-                list.addAll(s.getAnimations());
+    public void resetTiles() {
+        super.resetTiles();
+        for (int i = 0; i < spikes.length; i++) {
+            for (int j = 0; j < spikes[i].length; j++) {
+                spikes[i][j].stop();
+                setSpikesRaise(spikes[i][j], 0);
+                spikes[i][j].setDamaging(true);
             }
         }
-        for (Animation[] aArr : spikesAndTilesAnimations) {
-            list.addAll(Arrays.asList(aArr));
-        }
-        return list;
     }
     
 }
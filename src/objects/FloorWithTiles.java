@@ -1,17 +1,31 @@
 package objects;
 
+import concepts.CollectibleObject;
 import concepts.GameObject;
 import concepts.Vector;
-import game.Game;
+import game.Assets;
+import javafx.geometry.Point3D;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
+import simulation.RandomStream;
+import simulation.TileStates;
+import simulation.TimerWheel;
 
 public class FloorWithTiles extends Floor {
 
     public static final Color DEFAULT_FLOOR_COLOR = Color.BURLYWOOD;
-    public static final Image FLOOR_IMAGE = new Image("resources/sand.jpg");
+    public static final Color WARNING_COLOR = Color.RED;
+    public static final String FLOOR_IMAGE_RESOURCE = "resources/sand.jpg";
+    public static final Image FLOOR_IMAGE = Assets.getImage(FLOOR_IMAGE_RESOURCE);
+
+    // Materials shared by all tiles: the default one, the steps of the warning ramp and the fully red one. A tile changes
+    // color by switching to another of these, so the number of materials does not depend on the number of tiles.
+    private static final int WARNING_STEPS = 8;
+    private static final PhongMaterial[] TILE_MATERIALS = createTileMaterials();
+    protected static final int NORMAL_TILE = 0;
+    protected static final int WARNING_TILE = TILE_MATERIALS.length - 1;
 
     protected static final double SEPARATOR_THICKNESS = 10;
     protected static final PhongMaterial SEPARATOR_MATERIAL = new PhongMaterial(Color.BLACK);
@@ -22,6 +36,9 @@ public class FloorWithTiles extends Floor {
     public static final double POPULATING_OBJECT_START_Y = -55;
 
     protected final Box[][] tiles;
+    protected final TileStates tileStates;   // occupied, active and player-covered tiles, and the object on each tile
+    private final int[][] tileLevels;   // index of each tile's material in TILE_MATERIALS
+    private final TileFade[][] tileFades;   // the color change in progress on each tile, if any
 
     public FloorWithTiles(Vector position, double width, double length, int numOfTilesX, int numOfTilesZ) {
         super(position);
@@ -30,6 +47,9 @@ public class FloorWithTiles extends Floor {
         }
 
         tiles = new Box[numOfTilesX][numOfTilesZ];
+        tileLevels = new int[numOfTilesX][numOfTilesZ];
+        tileFades = new TileFade[numOfTilesX][numOfTilesZ];
+        tileStates = new TileStates(numOfTilesX, numOfTilesZ);
         final double tileWidth = width / numOfTilesX;
         final double tileLength = length / numOfTilesZ;
         for (int i = 0; i < numOfTilesX; i++) {
@@ -37,11 +57,9 @@ public class FloorWithTiles extends Floor {
                 tiles[i][j] = new Box(tileWidth, FLOOR_HEIGHT, tileLength);
                 tiles[i][j].setTranslateX(-width / 2 + tileWidth / 2 + i * tileWidth);
                 tiles[i][j].setTranslateZ(-length / 2 + tileLength / 2 + j * tileLength);
-                PhongMaterial tileMaterial = new PhongMaterial(DEFAULT_FLOOR_COLOR);
-                tileMaterial.setDiffuseMap(FLOOR_IMAGE);
-                tiles[i][j].setMaterial(tileMaterial);
+                tiles[i][j].setMaterial(TILE_MATERIALS[NORMAL_TILE]);
             }
-            this.getChildren().addAll(tiles[i]);
+            this.getChildren().addAll(tiles[i]);   // not static, their materials change
         }
 
         for (int i = 0; i < numOfTilesX - 1; i++) {
@@ -49,91 +67,156 @@ public class FloorWithTiles extends Floor {
             separator.setTranslateX(-width / 2 + (i + 1) * tileWidth);
             separator.setTranslateY(-FLOOR_HEIGHT);
             separator.setMaterial(SEPARATOR_MATERIAL);
-            this.getChildren().add(separator);
+            this.getChildren().add(StaticBatch.markStatic(separator));
         }
         for (int i = 0; i < numOfTilesZ - 1; i++) {
             Box separator = new Box(width, FLOOR_HEIGHT + 4, SEPARATOR_THICKNESS);
             separator.setTranslateZ(-length / 2 + (i + 1) * tileLength);
             separator.setTranslateY(-FLOOR_HEIGHT);
             separator.setMaterial(SEPARATOR_MATERIAL);
-            this.getChildren().add(separator);
+            this.getChildren().add(StaticBatch.markStatic(separator));
         }
     }
 
-    // Possibly TODO: A method for populating a tile with a Collectable or CollectableObject or something that will not create a new object, but use an existing one that is passed as a parameter?
-    public GameObject populateRandomTile(PopulateOption option, Player player) {
-        int i = Game.RANDOM.nextInt(tiles.length);
-        int j = Game.RANDOM.nextInt(tiles[i].length);
-        int cnt = 0;
-//        while (tiles[i][j].getUserData() != null
-//                || isTileActive(i, j)
-//                || // potentially use !tiles[i][j].intersects(player.localToScene(player.getBody().getBoundsInParent())) or something alike in case the player position conditions don't work properly
-//                ((Math.abs(tiles[i][j].getTranslateX() - player.getTranslateX()) < tiles[i][j].getWidth() / 2)
-//                && (Math.abs(tiles[i][j].getTranslateZ() - player.getTranslateZ()) < tiles[i][j].getDepth() / 2))) { // select the next tile
-        while (isTileOccupied(i, j, player)) {  // ?
-            if (j == tiles[i].length - 1) {
-                j = 0;
-                if (i == tiles.length - 1) {
-                    i = 0;
-                } else {
-                    i++;
-                }
-            } else {
-                j++;
-            }
-            if (++cnt == tiles.length * tiles[i].length) {  // against errors (infinite loops) ?
-                return null;
-            }
+    public CollectibleObject populateRandomTile(PopulateOption option, Player player, CollectiblePool pool) {
+        tileStates.setPlayerTile(tileUnder(player));   // the player only needs to be marked while a tile is being picked
+        final int tile = tileStates.randomFreeTile(RandomStream.COLLECTIBLES.get());
+        tileStates.setPlayerTile(TileStates.NO_TILE);
+        if (tile == TileStates.NO_TILE) {
+            return null;
         }
-        GameObject object = null;
+        final int i = tileStates.tileX(tile);
+        final int j = tileStates.tileZ(tile);
+        double y = POPULATING_OBJECT_START_Y;
         switch (option) {
             case COIN: {
-                object = new Coin(new Vector(tiles[i][j].getTranslateX(), POPULATING_OBJECT_START_Y - Coin.RADIUS, tiles[i][j].getTranslateZ()));
+                y -= Coin.RADIUS;
                 break;
             }
             case CLOCK: {
-                object = new Clock(new Vector(tiles[i][j].getTranslateX(), POPULATING_OBJECT_START_Y - Clock.RADIUS, tiles[i][j].getTranslateZ()));
+                y -= Clock.RADIUS;
                 break;
             }
             case HEART: {
-                object = new Heart(new Vector(tiles[i][j].getTranslateX(), POPULATING_OBJECT_START_Y - Heart.TOTAL_HEIGHT, tiles[i][j].getTranslateZ()));
+                y -= Heart.TOTAL_HEIGHT;
                 break;
             }
         }
-        tiles[i][j].setUserData(object);
+        CollectibleObject object = pool.obtain(option, tiles[i][j].getTranslateX(), y, tiles[i][j].getTranslateZ());
+        tileStates.occupy(i, j, object);
         return object;
     }
 
-    protected boolean isTileOccupied(int i, int j, Player player) {
-        boolean occupiedByObjects = tiles[i][j].getUserData() != null || isTileActive(i, j);
-        if (player == null || occupiedByObjects == true) {
-            return occupiedByObjects;
-        } else {
-            boolean occupiedByPlayer = (Math.abs(tiles[i][j].getTranslateX() - player.getTranslateX()) < tiles[i][j].getWidth() / 2)
-                    && (Math.abs(tiles[i][j].getTranslateZ() - player.getTranslateZ()) < tiles[i][j].getDepth() / 2);
-            // potentially use tiles[i][j].intersects(player.localToScene(player.getBody().getBoundsInParent())) or something alike in case the player position conditions don't work properly
-            return occupiedByPlayer;
+    private int tileUnder(Player player) {
+        if (player == null) {
+            return TileStates.NO_TILE;
         }
+        // the player is not in the same group as the floor, so its position is brought into the coordinates of the tiles
+        Point3D position = this.sceneToLocal(player.localToScene(0, 0, 0));
+        final Box first = tiles[0][0];
+        final int i = (int) Math.floor((position.getX() - first.getTranslateX()) / first.getWidth() + 0.5);
+        final int j = (int) Math.floor((position.getZ() - first.getTranslateZ()) / first.getDepth() + 0.5);
+        if (i < 0 || i >= tiles.length || j < 0 || j >= tiles[i].length) {
+            return TileStates.NO_TILE;
+        }
+        return tileStates.tileOf(i, j);
     }
 
-    protected boolean isTileActive(int i, int j) {
-        return false;   // meant to be overriden
+    /*
+    Changes the color of a tile over the given time to NORMAL_TILE or WARNING_TILE, going through the steps of the ramp
+    evenly. The scheduler only runs the fade when the tile has to switch to the next material. A new change on the same
+    tile replaces the one in progress.
+     */
+    protected void fadeTile(TimerWheel scheduler, int i, int j, int targetLevel, double seconds) {
+        if (tileFades[i][j] != null) {
+            tileFades[i][j].timer.cancel();
+            tileFades[i][j] = null;
+        }
+        final int steps = Math.abs(targetLevel - tileLevels[i][j]);
+        if (steps == 0) {
+            return;
+        }
+        TileFade fade = new TileFade(scheduler, i, j, targetLevel, steps, scheduler.toTicks(seconds));
+        tileFades[i][j] = fade;
+        fade.scheduleNextStep();
     }
 
-    public boolean unpopulateTile(GameObject object) {
-        for (Box[] tileRow : tiles) {
-            for (Box tile : tileRow) {
-                if (tile.getUserData() == object) {
-                    tile.setUserData(null);
-                    return true;
+    private void setTileLevel(int i, int j, int level) {
+        tileLevels[i][j] = level;
+        tiles[i][j].setMaterial(TILE_MATERIALS[level]);
+    }
+
+    private static PhongMaterial[] createTileMaterials() {
+        PhongMaterial[] materials = new PhongMaterial[WARNING_STEPS + 2];
+        for (int k = 0; k < materials.length; k++) {
+            materials[k] = new PhongMaterial(DEFAULT_FLOOR_COLOR.interpolate(WARNING_COLOR, (double) k / (materials.length - 1)));
+            materials[k].setDiffuseMap(FLOOR_IMAGE);
+        }
+        return materials;
+    }
+
+    private final class TileFade implements Runnable {
+
+        private final TimerWheel scheduler;
+        private final int i, j;
+        private final int direction;
+        private final int steps;
+        private final long ticks;
+        private int step = 0;
+        private TimerWheel.Timer timer;
+
+        private TileFade(TimerWheel scheduler, int i, int j, int to, int steps, long ticks) {
+            this.scheduler = scheduler;
+            this.i = i;
+            this.j = j;
+            this.direction = Integer.signum(to - tileLevels[i][j]);
+            this.steps = steps;
+            this.ticks = ticks;
+        }
+
+        private long tickOfStep(int k) {
+            return ticks * k / steps;
+        }
+
+        private void scheduleNextStep() {
+            timer = scheduler.schedule(tickOfStep(step + 1) - tickOfStep(step), this);
+        }
+
+        @Override
+        public void run() {
+            setTileLevel(i, j, tileLevels[i][j] + direction);
+            if (++step == steps) {
+                tileFades[i][j] = null;
+            } else {
+                scheduleNextStep();
+            }
+        }
+
+    }
+
+    public void resetTiles() {  // used when the room is finished, after its scheduler has been cleared
+        for (int i = 0; i < tiles.length; i++) {
+            for (int j = 0; j < tiles[i].length; j++) {
+                if (tileFades[i][j] != null) {
+                    tileFades[i][j].timer.cancel();
+                    tileFades[i][j] = null;
                 }
+                setTileLevel(i, j, NORMAL_TILE);
             }
         }
-        return false;
+        tileStates.clearActive();
+    }
+
+    public boolean unpopulateTile(GameObject object) {
+        return tileStates.vacate(object);
     }
 
     public Box[][] getTiles() {
         return tiles;
     }
 
+    public TileStates getTileStates() {
+        return tileStates;
+    }
+
 }
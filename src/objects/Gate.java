@@ -1,17 +1,19 @@
 package objects;
 
 import concepts.Animated;
+import concepts.ClockedAnimation;
+import concepts.GameClock;
 import concepts.GameObject;
 import concepts.Vector;
 import java.util.Arrays;
 import java.util.List;
-import javafx.animation.Animation;
 import javafx.animation.TranslateTransition;
 import javafx.scene.image.Image;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Cylinder;
 import javafx.util.Duration;
 import rooms.BufferZone;
+import simulation.Aabb;
 
 public class Gate extends GameObject implements Animated {
 
@@ -25,16 +27,23 @@ public class Gate extends GameObject implements Animated {
     }
 
     public static final double ANIMATION_DURATION_SEC = 2;
-    private final TranslateTransition openClose;
+    private final TranslateTransition movement;
+    private final ClockedAnimation openClose;
+    private final double height;
 
     private boolean open = false;
 
+    private final double closedY;
+    private final Aabb closedBounds = new Aabb();
+
     public Gate(Vector position) {
         this(position, BufferZone.DEFAULT_FLOOR_WIDTH, BufferZone.DEFAULT_ENTRANCE_HEIGHT, Wall.DEFAULT_THICKNESS);
     }
 
     public Gate(Vector position, double width, double height, double depth) {
         super(position);
+        closedY = this.getTranslateY();
+        this.height = height;
 
         final int numOfBars = (int) (width / BAR_RADIUS / 6);
         final double barDistance = width / numOfBars;
@@ -45,24 +54,25 @@ public class Gate extends GameObject implements Animated {
             this.getChildren().add(bar);
         }
 
-        openClose = new TranslateTransition(Duration.seconds(ANIMATION_DURATION_SEC), this);
-        openClose.setByY(-height);
-        openClose.setOnFinished(e -> {
-            open = !open;
-            openClose.setByY(-openClose.getByY());
-        });
+        movement = new TranslateTransition(Duration.seconds(ANIMATION_DURATION_SEC), this);
+        openClose = GameClock.getInstance().animate(movement);
     }
 
-    public boolean trigger() {
-        if (openClose.getStatus() == Animation.Status.STOPPED) {
-            openClose.play();
-            return true;
-        }
-        return false;
+    public void trigger() { // the gate counts as open or closed at once, the bars only follow, turning back if still moving
+        open = !open;
+        movement.setToY(open ? closedY - height : closedY);
+        openClose.playFromStart();
+    }
+
+    @Override
+    public Aabb getWorldBounds() {  // where the bars are when closed, since a gate is in the way from when it starts closing
+        final Aabb bounds = super.getWorldBounds();
+        final double offset = closedY - this.getTranslateY();
+        return closedBounds.set(bounds.getMinX(), bounds.getMinY() + offset, bounds.getMinZ(), bounds.getMaxX(), bounds.getMaxY() + offset, bounds.getMaxZ());
     }
 
     @Override
-    public List<Animation> getAnimations() {
+    public List<ClockedAnimation> getAnimations() {
         return Arrays.asList(openClose);
     }
 
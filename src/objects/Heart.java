@@ -1,23 +1,18 @@
 package objects;
 
-import concepts.Animated;
-import concepts.GameObject;
+import concepts.CollectibleObject;
 import concepts.Vector;
-import java.util.Arrays;
-import java.util.List;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.RotateTransition;
-import javafx.animation.Timeline;
+import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
 import javafx.scene.shape.MeshView;
 import javafx.scene.shape.TriangleMesh;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
-import javafx.util.Duration;
 
-public class Heart extends GameObject implements Animated {
+public class Heart extends CollectibleObject {
 
     /*
     The heart is made of two halves, each of which is a half-cylinder (half-circle in 2D) at the top that extends to
@@ -36,6 +31,7 @@ public class Heart extends GameObject implements Animated {
     private static final double TRIANGULAR_MESH_HEIGHT = 60;
     public static final double TOTAL_HEIGHT = HALF_CIRCLE_RADIUS + TRIANGULAR_MESH_HEIGHT;
     public static final double THICKNESS = 15;
+    public static final double DETAIL_DISTANCE = 2_500;
 
     private static final int VERTICES_IN_HALF_CIRCLE = 13;
     private static final int VERTICES_IN_MESH_CURVE = 9;
@@ -43,32 +39,35 @@ public class Heart extends GameObject implements Animated {
 
     private static final PhongMaterial HEART_MATERIAL = new PhongMaterial(Color.CRIMSON);
 
-    private static final double ROTATION_TIME = 2;
-    private final RotateTransition rotateTransition;
-
     public Heart(Vector position) {
         super(position);
 
         MeshView leftHalf = createHalfHeart();
         leftHalf.getTransforms().add(new Translate(-HALF_CIRCLE_RADIUS, 0, 0));
-        MeshView rightHalf = createHalfHeart();
+        MeshView rightHalf = createHalfHeart();   // both halves share the same mesh
         rightHalf.getTransforms().addAll(
                 new Rotate(180., Rotate.Y_AXIS),
                 new Translate(-HALF_CIRCLE_RADIUS, 0, 0)
         );
 
-        this.getChildren().addAll(leftHalf, rightHalf);
+        // the meshes are already simple, so there is no simplified representation
+        setLevelsOfDetail(DETAIL_DISTANCE, new Group(leftHalf, rightHalf), null, Heart::createImpostor);
+    }
 
-        rotateTransition = new RotateTransition(Duration.seconds(ROTATION_TIME), this);
-        rotateTransition.setAxis(Rotate.Y_AXIS);
-        rotateTransition.setFromAngle(0);
-        rotateTransition.setToAngle(360);
-        rotateTransition.setInterpolator(Interpolator.LINEAR);
-        rotateTransition.setCycleCount(Timeline.INDEFINITE);
-        rotateTransition.play();
+    private static Node createImpostor() {
+        Box heart = new Box(HALF_CIRCLE_RADIUS * 2, TOTAL_HEIGHT * 0.6, THICKNESS);
+        heart.setMaterial(HEART_MATERIAL);
+        heart.setTranslateY(TRIANGULAR_MESH_HEIGHT / 2 - HALF_CIRCLE_RADIUS);
+        return heart;
     }
 
     private static MeshView createHalfHeart() {
+        MeshView halfHeart = new MeshView(Meshes.get(Meshes.Shape.HALF_HEART));
+        halfHeart.setMaterial(HEART_MATERIAL);
+        return halfHeart;
+    }
+
+    static TriangleMesh createHalfHeartMesh() {
         float[] points = new float[(2 * VERTICES_IN_HALF_CIRCLE + 2 * VERTICES_IN_MESH_CURVE) * 3];
 
         int i = 0;
@@ -169,16 +168,7 @@ public class Heart extends GameObject implements Animated {
         mesh.getPoints().addAll(points);
         mesh.getTexCoords().addAll(texCoords);
         mesh.getFaces().addAll(faces);
-        MeshView halfHeart = new MeshView(mesh);
-
-        halfHeart.setMaterial(HEART_MATERIAL);
-
-        return halfHeart;
-    }
-
-    @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(rotateTransition);
+        return mesh;
     }
 
 }
@@ -0,0 +1,44 @@
+package objects;
+
+import java.util.EnumMap;
+import java.util.function.Supplier;
+import javafx.scene.shape.TriangleMesh;
+
+/*
+Procedural meshes that are the same for every instance of a shape. Each mesh is built once and then shared by all the
+MeshViews that show it, so the shared meshes must never be modified.
+ */
+public final class Meshes {
+
+    public enum Shape {
+        HALF_HEART(Heart::createHalfHeartMesh),
+        PICTURE(Picture::createPictureMesh);
+
+        private final Supplier<TriangleMesh> builder;
+
+        private Shape(Supplier<TriangleMesh> builder) {
+            this.builder = builder;
+        }
+    }
+
+    private static final EnumMap<Shape, TriangleMesh> MESHES = new EnumMap<>(Shape.class);
+
+    private Meshes() {
+    }
+
+    public static synchronized TriangleMesh get(Shape shape) {
+        TriangleMesh mesh = MESHES.get(shape);
+        if (mesh == null) {
+            mesh = shape.builder.get();
+            MESHES.put(shape, mesh);
+        }
+        return mesh;
+    }
+
+    public static void buildAll() { // meant to be called while loading, so that no mesh is built during the game
+        for (Shape shape : Shape.values()) {
+            get(shape);
+        }
+    }
+
+}
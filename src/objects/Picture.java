@@ -2,6 +2,8 @@ package objects;
 
 import concepts.GameObject;
 import concepts.Vector;
+import game.Assets;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
@@ -15,6 +17,13 @@ public class Picture extends GameObject {
     public static final double DEFAULT_LONGER_SIDE_LENGTH = 170;
     public static final double TOTAL_THICKNESS = 12;
     public static final double FRAME_HEIGHT_AND_WIDTH = 7;
+    public static final double TEXELS_PER_UNIT = 4;    // pictures are downsampled to about the largest size they take up on the screen
+
+    private static final PhongMaterial FRAME_MATERIAL = new PhongMaterial(Color.rgb(0xEF, 0xC7, 0x00));    // shared, so that all frames are merged into one mesh
+
+    static {
+        FRAME_MATERIAL.setSpecularColor(Color.GOLDENROD);
+    }
 
     public Picture(Vector position, String pictureURL) {
         this(position, pictureURL, DEFAULT_LONGER_SIDE_LENGTH);
@@ -23,10 +32,11 @@ public class Picture extends GameObject {
     public Picture(Vector position, String pictureURL, double longerSideLength) {
         super(position);
 
-        Image image = new Image(pictureURL);
+        Image image = requestImage(pictureURL, longerSideLength).join();
         MeshView picture = createPicture(image);
 
-        final double height, width, imgHeight = image.getHeight(), imgWidth = image.getWidth();
+        final double height, width;
+        final double imgHeight = image != null ? image.getHeight() : 1, imgWidth = image != null ? image.getWidth() : 1;
         if (imgHeight > imgWidth) {
             height = longerSideLength;
             width = longerSideLength * imgWidth / imgHeight;
@@ -45,17 +55,30 @@ public class Picture extends GameObject {
         Box frameRight = new Box(FRAME_HEIGHT_AND_WIDTH, height, TOTAL_THICKNESS);
         frameRight.setTranslateX(-width / 2 - FRAME_HEIGHT_AND_WIDTH / 2);
 
-        PhongMaterial frameMaterial = new PhongMaterial(Color.rgb(0xEF, 0xC7, 0x00));
-        frameMaterial.setSpecularColor(Color.GOLDENROD);
-        frameTop.setMaterial(frameMaterial);
-        frameBottom.setMaterial(frameMaterial);
-        frameLeft.setMaterial(frameMaterial);
-        frameRight.setMaterial(frameMaterial);
+        frameTop.setMaterial(FRAME_MATERIAL);
+        frameBottom.setMaterial(FRAME_MATERIAL);
+        frameLeft.setMaterial(FRAME_MATERIAL);
+        frameRight.setMaterial(FRAME_MATERIAL);
+
+        this.getChildren().addAll(picture, StaticBatch.markStatic(frameTop), StaticBatch.markStatic(frameBottom), StaticBatch.markStatic(frameLeft), StaticBatch.markStatic(frameRight));
+    }
 
-        this.getChildren().addAll(picture, frameTop, frameBottom, frameLeft, frameRight);
+    public static CompletableFuture<Image> requestImage(String pictureURL, double longerSideLength) {
+        final double size = Math.ceil(longerSideLength * TEXELS_PER_UNIT);
+        return Assets.requestImage(pictureURL, size, size);
     }
 
     private MeshView createPicture(Image image) {
+        MeshView picture = new MeshView(Meshes.get(Meshes.Shape.PICTURE));    // a unit cube, scaled to the size of the image
+
+        PhongMaterial mat = new PhongMaterial();
+        mat.setDiffuseMap(image);
+        picture.setMaterial(mat);
+
+        return picture;
+    }
+
+    static TriangleMesh createPictureMesh() {
         float[] vertices = {
             -0.5f, -0.5f, -0.5f,
             0.5f, -0.5f, -0.5f,
@@ -106,13 +129,7 @@ public class Picture extends GameObject {
         mesh.getPoints().addAll(vertices);
         mesh.getTexCoords().addAll(texCoords);
         mesh.getFaces().addAll(faces);
-        MeshView picture = new MeshView(mesh);
-
-        PhongMaterial mat = new PhongMaterial();
-        mat.setDiffuseMap(image);
-        picture.setMaterial(mat);
-
-        return picture;
+        return mesh;
     }
 
 }
@@ -24,44 +24,22 @@ import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.shape.Sphere;
 import javafx.scene.transform.Rotate;
+import simulation.PlayerInput;
+import simulation.PlayerModel;
 
 public class Player extends GameObject implements EventHandler<Event>, Updatable {
 
-    public static final double HEIGHT = 190;
-    public static final double MOUSE_SENSITIVITY = 0.05;
-
-    public static final double WALK_SPEED = 12;
-    public static final double TEST_MODE_WALK_SPEED = 40;
-    public static final double SPRINT_FACTOR = 1.9;
-    public static final double SPRINT_SPEED = WALK_SPEED * SPRINT_FACTOR;
-    public static final double TEST_MODE_SPRINT_SPEED = TEST_MODE_WALK_SPEED * SPRINT_FACTOR;
-    // Values divided by square root of 2 are used in calculations.
-    private static final double WALK_SPEED_DIVIDED_BY_SQRT2;
-    private static final double TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2;
-    private static final double SPRINT_SPEED_DIVIDED_BY_SQRT2;
-    private static final double TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2;
-
-    static {
-        final double sqrt2 = Math.sqrt(2);
-        WALK_SPEED_DIVIDED_BY_SQRT2 = WALK_SPEED / sqrt2;
-        TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2 = TEST_MODE_WALK_SPEED / sqrt2;
-        SPRINT_SPEED_DIVIDED_BY_SQRT2 = SPRINT_SPEED / sqrt2;
-        TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2 = TEST_MODE_SPRINT_SPEED / sqrt2;
-    }
-
-    private double longitudinalVelocity = 0;
-    private double lateralVelocity = 0;
+    public static final double HEIGHT = PlayerModel.HEIGHT;
+    public static final double MOUSE_SENSITIVITY = PlayerModel.MOUSE_SENSITIVITY;
 
-    private enum LongitudinalStates {
-        FORWARD, BACKWARD, STALL;
-    }
+    public static final double WALK_SPEED = PlayerModel.WALK_SPEED;
+    public static final double TEST_MODE_WALK_SPEED = PlayerModel.TEST_MODE_WALK_SPEED;
+    public static final double SPRINT_FACTOR = PlayerModel.SPRINT_FACTOR;
+    public static final double SPRINT_SPEED = PlayerModel.SPRINT_SPEED;
+    public static final double TEST_MODE_SPRINT_SPEED = PlayerModel.TEST_MODE_SPRINT_SPEED;
 
-    private enum LateralStates {
-        LEFT, RIGHT, STALL;
-    }
-
-    private LongitudinalStates longitudinalState = LongitudinalStates.STALL;
-    private LateralStates lateralState = LateralStates.STALL;
+    private final PlayerModel model;    // the view only mirrors the state of the model into the nodes
+    private final PlayerInput input = new PlayerInput();    // applied to the model at the start of the next tick
 
     private Group body;
 
@@ -72,17 +50,10 @@ public class Player extends GameObject implements EventHandler<Event>, Updatable
     private Rotate upDownRotation;
     private Rotate leftRightRotation;
 
-    public static final int MAX_LIVES = 2;
-    private int lives = MAX_LIVES;
+    public static final int MAX_LIVES = PlayerModel.MAX_LIVES;
 
-    public static final int MAX_STAMINA = 60 * 5;
-    private int stamina = MAX_STAMINA;
-    private boolean sprinting = false;
-    private boolean sprintKeyPressed = false;
-    public static final int SPRINT_STAMINA_THRESHOLD = (int) (MAX_STAMINA / 5.);
-    private static final int STAMINA_REGENERATION_CYCLES = 4;
-    private int staminaRegenerationCycleCounter = 0;
-    private boolean staminaRegeneratingBelowCritical = false;
+    public static final int MAX_STAMINA = PlayerModel.MAX_STAMINA;
+    public static final int SPRINT_STAMINA_THRESHOLD = PlayerModel.SPRINT_STAMINA_THRESHOLD;
 
     private Game game;
 
@@ -91,6 +62,7 @@ public class Player extends GameObject implements EventHandler<Event>, Updatable
     public Player(Vector position, Game game) {
         super(position);
         this.game = game;
+        this.model = new PlayerModel(position, game.isTestMode());
 
         // body
         body = new Group();
@@ -159,105 +131,35 @@ public class Player extends GameObject implements EventHandler<Event>, Updatable
         return body;
     }
 
-    private void setVelocity() {
-        int longitudinal = 0;
-        int lateral = 0;
-
-        switch (longitudinalState) {
-            case STALL:
-                longitudinal = 0;
-                break;
-            case FORWARD:
-                longitudinal = 1;
-                break;
-            case BACKWARD:
-                longitudinal = -1;
-                break;
-            default:
-                break;
-        }
-
-        switch (lateralState) {
-            case STALL:
-                lateral = 0;
-                break;
-            case RIGHT:
-                lateral = 1;
-                break;
-            case LEFT:
-                lateral = -1;
-                break;
-            default:
-                break;
-        }
-
-        double speed;
-        if (longitudinal != 0 && lateral != 0) {
-            if (!game.isTestMode()) {
-                speed = sprinting ? SPRINT_SPEED_DIVIDED_BY_SQRT2 : WALK_SPEED_DIVIDED_BY_SQRT2;
-            } else {
-                speed = sprinting ? TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2 : TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2;
-            }
-            longitudinalVelocity = speed * longitudinal;
-            lateralVelocity = speed * lateral;
-        } else {
-            if (!game.isTestMode()) {
-                speed = sprinting ? SPRINT_SPEED : WALK_SPEED;
-            } else {
-                speed = sprinting ? TEST_MODE_SPRINT_SPEED : TEST_MODE_WALK_SPEED;
-            }
-            longitudinalVelocity = speed * longitudinal;
-            lateralVelocity = speed * lateral;
-        }
-    }
-
     private void handleKeyEvent(KeyEvent e) {
         if (e.getCode() == KeyCode.ESCAPE && e.getEventType() == KeyEvent.KEY_PRESSED) {
-            game.pause();
+            game.pause();   // also releases the keys, as the player does not see them released while paused
+            return;
+        }
 
-            // simulate button releasing when the game is paused
-            longitudinalState = LongitudinalStates.STALL;
-            lateralState = LateralStates.STALL;
-            sprintKeyPressed = false;
-            setVelocity();
+        final boolean pressed = e.getEventType() == KeyEvent.KEY_PRESSED;
+        final boolean released = e.getEventType() == KeyEvent.KEY_RELEASED;
 
-            return;
+        if (e.getCode() == KeyCode.W && (pressed || released)) {
+            input.control(PlayerModel.Control.FORWARD, pressed);
+        } else if (e.getCode() == KeyCode.S && (pressed || released)) {
+            input.control(PlayerModel.Control.BACKWARD, pressed);
         }
 
-        if (e.getCode() == KeyCode.W && e.getEventType() == KeyEvent.KEY_PRESSED) {
-            longitudinalState = LongitudinalStates.FORWARD;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.S && e.getEventType() == KeyEvent.KEY_PRESSED) {
-            longitudinalState = LongitudinalStates.BACKWARD;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.W && e.getEventType() == KeyEvent.KEY_RELEASED && longitudinalState != LongitudinalStates.BACKWARD) {
-            longitudinalState = LongitudinalStates.STALL;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.S && e.getEventType() == KeyEvent.KEY_RELEASED && longitudinalState != LongitudinalStates.FORWARD) {
-            longitudinalState = LongitudinalStates.STALL;
-            setVelocity();
+        if (e.getCode() == KeyCode.A && (pressed || released)) {
+            input.control(PlayerModel.Control.LEFT, pressed);
+        } else if (e.getCode() == KeyCode.D && (pressed || released)) {
+            input.control(PlayerModel.Control.RIGHT, pressed);
         }
 
-        if (e.getCode() == KeyCode.A && e.getEventType() == KeyEvent.KEY_PRESSED) {
-            lateralState = LateralStates.LEFT;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.D && e.getEventType() == KeyEvent.KEY_PRESSED) {
-            lateralState = LateralStates.RIGHT;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.A && e.getEventType() == KeyEvent.KEY_RELEASED && lateralState != LateralStates.RIGHT) {
-            lateralState = LateralStates.STALL;
-            setVelocity();
-        } else if (e.getCode() == KeyCode.D && e.getEventType() == KeyEvent.KEY_RELEASED && lateralState != LateralStates.LEFT) {
-            lateralState = LateralStates.STALL;
-            setVelocity();
+        if (e.getCode() == KeyCode.T && pressed) {
+            game.nextTimeScale();
+        } else if (e.getCode() == KeyCode.P && pressed) {
+            game.logFrameProfile();
         }
 
-        if (e.getCode() == KeyCode.SHIFT) {
-            if (e.getEventType() == KeyEvent.KEY_PRESSED) {
-                sprintKeyPressed = true;
-            } else if (e.getEventType() == KeyEvent.KEY_RELEASED) {
-                sprintKeyPressed = false;
-            }
+        if (e.getCode() == KeyCode.SHIFT && (pressed || released)) {
+            input.control(PlayerModel.Control.SPRINT, pressed);
         }
 
         if (e.getCode() == KeyCode.L && e.getEventType() == KeyEvent.KEY_RELEASED) {
@@ -289,19 +191,7 @@ public class Player extends GameObject implements EventHandler<Event>, Updatable
 
     private void handleMouseEvent(MouseEvent e) {
         if (e.getEventType() == MouseEvent.MOUSE_MOVED) {
-            double horizontalMouseMove = e.getScreenX() - game.getCenterX();
-            double horizontalAngle = leftRightRotation.getAngle() + horizontalMouseMove * MOUSE_SENSITIVITY;
-            leftRightRotation.setAngle(horizontalAngle);
-
-            double verticalMouseMove = e.getScreenY() - game.getCenterY();
-            double verticalAngle = upDownRotation.getAngle() - verticalMouseMove * MOUSE_SENSITIVITY;
-            if (verticalAngle > 90.0) {
-                verticalAngle = 90.0;
-            } else if (verticalAngle < -90.0) {
-                verticalAngle = -90.0;
-            }
-            upDownRotation.setAxis(new Point3D(Math.cos(horizontalAngle * Math.PI / 180), 0, -Math.sin(horizontalAngle * Math.PI / 180)));
-            upDownRotation.setAngle(verticalAngle);
+            input.look((float) (e.getScreenX() - game.getCenterX()), (float) (e.getScreenY() - game.getCenterY()));
 
             mouseMover.mouseMove(game.getCenterX(), game.getCenterY()); // Keep the cursor in the center of the screen.
         }
@@ -318,62 +208,67 @@ public class Player extends GameObject implements EventHandler<Event>, Updatable
         }
     }
 
+    public void applyInput() {  // at the start of a tick, before the update
+        if (input.applyTo(model)) {
+            syncRotation();
+        }
+        input.clear();
+    }
+
+    public PlayerInput getInput() {
+        return input;
+    }
+
     @Override
     public void update() {
-        double horizontalAngleRadians = leftRightRotation.getAngle() * Math.PI / 180;  // Deviation from Z axis.
+        model.step();
+        syncPosition();
+    }
 
-        this.setTranslateZ(this.getTranslateZ() + Math.cos(horizontalAngleRadians) * longitudinalVelocity);
-        this.setTranslateX(this.getTranslateX() + Math.sin(horizontalAngleRadians) * longitudinalVelocity);
+    private void syncPosition() {
+        this.setTranslateX(model.getX());
+        this.setTranslateZ(model.getZ());
+    }
 
-        this.setTranslateX(this.getTranslateX() + Math.cos(horizontalAngleRadians) * lateralVelocity);
-        this.setTranslateZ(this.getTranslateZ() - Math.sin(horizontalAngleRadians) * lateralVelocity);
+    public void interpolate(double alpha) { // places the node between the last two simulated positions, for rendering only
+        this.setTranslateX(model.getInterpolatedX(alpha));
+        this.setTranslateZ(model.getInterpolatedZ(alpha));
+    }
 
-        regulateSprinting();
+    private void syncRotation() {
+        final double horizontalAngle = model.getHorizontalAngle();
+        leftRightRotation.setAngle(horizontalAngle);
+        upDownRotation.setAxis(new Point3D(Math.cos(horizontalAngle * Math.PI / 180), 0, -Math.sin(horizontalAngle * Math.PI / 180)));
+        upDownRotation.setAngle(model.getVerticalAngle());
     }
 
-    private void regulateSprinting() {
-        if (sprintKeyPressed && stamina > 0 && !staminaRegeneratingBelowCritical && (longitudinalVelocity != 0 || lateralVelocity != 0)) {
-            if (sprinting) {    // already sprinting
-                --stamina;
-            } else {    // start sprinting
-                sprinting = true;
-                staminaRegenerationCycleCounter = 0;
-                staminaRegeneratingBelowCritical = false;
-                setVelocity();
-            }
-        } else {
-            if (sprinting) {
-                sprinting = false;
-                setVelocity();
-            }
-            if (stamina < MAX_STAMINA) {
-                staminaRegeneratingBelowCritical = stamina < SPRINT_STAMINA_THRESHOLD;
-                if (++staminaRegenerationCycleCounter >= STAMINA_REGENERATION_CYCLES) {   // >= or ==, possible issues ?
-                    ++stamina;
-                    staminaRegenerationCycleCounter = 0;
-                    if (sprintKeyPressed && !staminaRegeneratingBelowCritical && stamina >= SPRINT_STAMINA_THRESHOLD) {  // in case the player holds the sprint key pressed
-                        sprinting = true;
-                        setVelocity();
-                    }
-                }
-            }
-        }
+    public void revertToLastValidPosition() {
+        model.revertToLastValidPosition();
+        syncPosition();
+    }
+
+    public void commitPosition() {
+        model.commitPosition();
+    }
+
+    public PlayerModel getModel() {
+        return model;
     }
 
     public int getLives() {
-        return lives;
+        return model.getLives();
     }
 
     public void setLives(int lives) {
-        this.lives = lives;
+        model.setLives(lives);
     }
 
     public int getStamina() {
-        return stamina;
+        return model.getStamina();
     }
 
     public void setStamina(int stamina) {
-        this.stamina = stamina;
+        model.setStamina(stamina);
     }
 
 }
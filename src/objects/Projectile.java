@@ -1,11 +1,12 @@
 package objects;
 
 import concepts.Animated;
+import concepts.ClockedAnimation;
 import concepts.DamagingObject;
+import concepts.GameClock;
 import concepts.Vector;
 import java.util.Arrays;
 import java.util.List;
-import javafx.animation.Animation;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -14,103 +15,184 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Sphere;
 import javafx.scene.transform.Scale;
-import javafx.scene.transform.Translate;
 import javafx.util.Duration;
 
+/*
+Projectiles are reused: they are built once by their floor, stay attached to the room while idle and are hidden, and
+each launch only moves them and restarts their timelines. A projectile grows when it appears, flies to its target and
+shrinks before it is returned to its floor; each of these stages is timed by the phase of its entity in the store of
+the room, so the size, the damaging flag and the release follow the ticks. The flight is not an animation either: the
+entity is given a velocity towards the target. Only the color is animated.
+ */
 public class Projectile extends DamagingObject implements Animated {
 
     public static final double RADIUS = 60;
     public static final double DEFAULT_SPEED = Player.SPRINT_SPEED * 1.2;
 
-    private final Timeline creation;
-    private final Timeline movement;
-    private final Timeline decay;   // removal of Projectile from the node graph is performed after decay animation
-    private final Timeline colorChange;
+    private enum Stage {
+        IDLE, CREATING, READY, FLYING, DECAYING;
+    }
+
+    private final ClockedAnimation decay;   // of the color; the projectile shrinks with the ticks
+    private final ClockedAnimation colorChange;
+
+    private final PhongMaterial material = new PhongMaterial(Color.BLACK);
+    private final Scale scale = new Scale(0, 0, 0);
+    private double targetX, targetY, targetZ;
+    private double flightSeconds;
+    private final double creationSeconds;
+    private final double decaySeconds;
+    private double decayStartScale;
 
     private final FloorWithProjectiles parentFloor;
-    
-    public static Projectile createAndAddToChildrenAndForCollision(Vector position, Vector target, double creationDurationSeconds, double speed, FloorWithProjectiles parentFloor) {
-        Projectile projectile = new Projectile(position, target, creationDurationSeconds, speed, parentFloor);
-        parentFloor.getParentRoom().markForAdding(projectile);
-        // adding to collisionObjects is done in RoomWithProjectiles::update()
-        return projectile;
-    }
 
-    private Projectile(Vector position, Vector target, double creationDurationSeconds, double speed, FloorWithProjectiles parentFloor) {
-        super(position);
+    private Stage stage = Stage.IDLE;
+
+    public Projectile(double creationDurationSeconds, FloorWithProjectiles parentFloor) {
+        super(new Vector(0, 0, 0));
         this.parentFloor = parentFloor;
-        
+        this.creationSeconds = creationDurationSeconds;
+        this.decaySeconds = creationDurationSeconds / 2;
+
         this.setDamaging(false);
+        this.setVisible(false);
+        addToStore(parentFloor.getParentRoom().getHazards());
+        setScale(0);
 
         Sphere projectile = new Sphere(RADIUS);
-        projectile.setMaterial(new PhongMaterial(Color.BLACK));
+        projectile.setMaterial(material);
         this.getChildren().add(projectile);
 
-        Scale scale = new Scale(0, 0, 0);
         projectile.getTransforms().add(scale);  // scale transform has to be added to the projectile node (not this) because it would affect the translate of this otherwise
-        creation = new Timeline(
-                new KeyFrame(Duration.seconds(creationDurationSeconds),
-                        new KeyValue(scale.xProperty(), 1, Interpolator.EASE_BOTH),
-                        new KeyValue(scale.yProperty(), 1, Interpolator.EASE_BOTH),
-                        new KeyValue(scale.zProperty(), 1, Interpolator.EASE_BOTH)
-                )
-        );
-        creation.setOnFinished(e -> this.setDamaging(true));
-
-        Translate translate = new Translate();
-        this.getTransforms().add(translate);
-        final double dx = target.getX() - position.getX();
-        final double dy = target.getY() - position.getY();
-        final double dz = target.getZ() - position.getZ();
-        final Duration movementDuration = Duration.seconds(Math.sqrt(dx * dx + dy * dy + dz * dz) / speed / 60.);
-        movement = new Timeline(
-                new KeyFrame(movementDuration,
-                        new KeyValue(translate.xProperty(), dx, Interpolator.EASE_BOTH),
-                        new KeyValue(translate.yProperty(), dy, Interpolator.EASE_BOTH),
-                        new KeyValue(translate.zProperty(), dz, Interpolator.EASE_BOTH)
-                )
-        );
-        movement.setOnFinished(e -> {
-            animateDecayAndRemove();
-        });
-
-        decay = new Timeline(
-                new KeyFrame(Duration.seconds(creationDurationSeconds / 2),
-                        new KeyValue(scale.xProperty(), 0, Interpolator.EASE_BOTH),
-                        new KeyValue(scale.yProperty(), 0, Interpolator.EASE_BOTH),
-                        new KeyValue(scale.zProperty(), 0, Interpolator.EASE_BOTH),
-                        new KeyValue(((PhongMaterial) projectile.getMaterial()).diffuseColorProperty(), Color.BLACK, Interpolator.EASE_BOTH)
-                )
+        final GameClock clock = GameClock.getInstance();
+
+        Timeline decayTimeline = new Timeline(  // starts from wherever the color change was interrupted
+                new KeyFrame(Duration.seconds(decaySeconds), new KeyValue(material.diffuseColorProperty(), Color.BLACK, Interpolator.EASE_BOTH))
         );
-        decay.setOnFinished(e -> parentFloor.getParentRoom().markForRemoval(this));
+        decay = clock.animate(decayTimeline);
 
-        colorChange = new Timeline(
-                new KeyFrame(Duration.seconds(0.5), new KeyValue(((PhongMaterial) projectile.getMaterial()).diffuseColorProperty(), Color.RED, Interpolator.LINEAR))
+        Timeline colorChangeTimeline = new Timeline(
+                new KeyFrame(Duration.ZERO, new KeyValue(material.diffuseColorProperty(), Color.BLACK)),
+                new KeyFrame(Duration.seconds(0.5), new KeyValue(material.diffuseColorProperty(), Color.RED, Interpolator.LINEAR))
         );
-        colorChange.setAutoReverse(true);
-        colorChange.setCycleCount(Timeline.INDEFINITE);
-        colorChange.play();
+        colorChangeTimeline.setAutoReverse(true);
+        colorChangeTimeline.setCycleCount(Timeline.INDEFINITE);
+        colorChange = clock.animate(colorChangeTimeline);
+    }
+
+    public void appear(double x, double y, double z, double targetX, double targetY, double targetZ, double speed) {
+        moveTo(x, y, z);
+        getStore().setPosition(getEntity(), x, y, z);
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.targetZ = targetZ;
+        final double distance = Math.sqrt((targetX - x) * (targetX - x) + (targetY - y) * (targetY - y) + (targetZ - z) * (targetZ - z));
+        flightSeconds = distance / (speed * 60.);  // speed is per tick, 60 ticks per second
+        this.setDamaging(false);
+        this.setVisible(true);
+        setScale(0);
+        stage = Stage.CREATING;
+        getStore().startPhase(getEntity());
+        colorChange.playFromStart();
     }
 
-    public void animateCreation() {
-        creation.play();
+    public void hide() {
+        this.setVisible(false);
+        stopFlight();
+        stage = Stage.IDLE;
+        decay.stop();
+        colorChange.stop();
+    }
+
+    public boolean isIdle() {   // hidden, and back among the idle projectiles of its floor
+        return stage == Stage.IDLE;
     }
 
     public void animateMovementThenDecayAndRemove() {
-        movement.play();
+        if (stage == Stage.DECAYING || stage == Stage.IDLE) { // hit something before it was launched
+            return;
+        }
+        if (stage == Stage.CREATING) {  // launched in the tick its creation would have finished
+            finishCreation();
+        }
+        final double x = getStore().getX(getEntity()), y = getStore().getY(getEntity()), z = getStore().getZ(getEntity());
+        getStore().setVelocity(getEntity(), (targetX - x) / flightSeconds, (targetY - y) / flightSeconds, (targetZ - z) / flightSeconds);
+        stage = Stage.FLYING;
+        getStore().startPhase(getEntity());
+    }
+
+    @Override
+    public void sync() {
+        final double seconds = getStore().getPhase(getEntity());
+        switch (stage) {
+            case CREATING:
+                if (seconds >= creationSeconds) {
+                    finishCreation();
+                } else {
+                    setScale(Interpolator.EASE_BOTH.interpolate(0., 1., seconds / creationSeconds));
+                }
+                break;
+            case FLYING:
+                if (seconds >= flightSeconds) {
+                    stopFlight();
+                    getStore().setPosition(getEntity(), targetX, targetY, targetZ);
+                    moveTo(targetX, targetY, targetZ);
+                    animateDecayAndRemove();
+                } else {
+                    moveTo(getStore().getX(getEntity()), getStore().getY(getEntity()), getStore().getZ(getEntity()));
+                }
+                break;
+            case DECAYING:
+                if (seconds >= decaySeconds) {
+                    getStore().stopPhase(getEntity());
+                    parentFloor.getParentRoom().releaseProjectile(this);
+                } else {
+                    setScale(Interpolator.EASE_BOTH.interpolate(decayStartScale, 0., seconds / decaySeconds));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void finishCreation() {
+        getStore().stopPhase(getEntity());
+        setScale(1);
+        setDamaging(true);
+        stage = Stage.READY;
+    }
+
+    private void stopFlight() {
+        getStore().setVelocity(getEntity(), 0, 0, 0);
+        getStore().stopPhase(getEntity());
+    }
+
+    private void setScale(double factor) {  // the projectile grows when created and shrinks when decaying
+        scale.setX(factor);
+        scale.setY(factor);
+        scale.setZ(factor);
+        final double radius = RADIUS * factor;
+        getStore().setShape(getEntity(), -radius, -radius, -radius, radius, radius, radius);
     }
 
     public void animateDecayAndRemove() {
+        if (stage == Stage.DECAYING || stage == Stage.IDLE) {
+            return;
+        }
+        parentFloor.getParentRoom().projectileDecaying(this);
         setDamaging(false);
-        movement.stop();
+        stopFlight();
+        decayStartScale = scale.getX();
+        stage = Stage.DECAYING;
+        getStore().startPhase(getEntity());
         colorChange.stop();
-        decay.play();
-        // removal is in decay.setOnFinished(...)
+        decay.playFromStart();
+        // released in sync() when the decay is over
     }
 
     @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(creation, movement, decay, colorChange);
+    public List<ClockedAnimation> getAnimations() {
+        return Arrays.asList(decay, colorChange);
     }
 
     public FloorWithProjectiles getParentFloor() {
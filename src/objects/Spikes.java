@@ -1,134 +1,157 @@
 package objects;
 
-import concepts.Animated;
 import concepts.DamagingObject;
 import concepts.Vector;
-import java.util.Arrays;
-import java.util.List;
-import javafx.animation.Animation;
-import javafx.animation.PauseTransition;
-import javafx.animation.SequentialTransition;
-import javafx.animation.TranslateTransition;
-import javafx.scene.Group;
+import game.Assets;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
-import javafx.scene.shape.MeshView;
-import javafx.scene.shape.TriangleMesh;
-import javafx.util.Duration;
+import simulation.EntityStore;
+import simulation.SpikesModel;
 
-public class Spikes extends DamagingObject implements Animated {
+/*
+The spikes of one tile. They have no nodes of their own; the cones of all tiles are drawn by a single mesh of
+FloorWithSpikes, which moves the vertices of a tile according to the raise of its Spikes object. The time since the
+spikes were triggered is the phase of their entity in the store of the room, from which the raise follows as
+SpikesModel describes it.
+ */
+public class Spikes extends DamagingObject {
 
     public static final double SPIKE_RADIUS = 120;
-    public static final double SPIKE_HEIGHT = SPIKE_RADIUS * 2;
+    public static final double SPIKE_HEIGHT = SpikesModel.HEIGHT;
 
     private static final int VERTICES_IN_CIRCLE = 8;
-
-    // for transition durations
-    public static final double COME_UP_TIME = 0.25;
-    public static final double STAY_UP_TIME = 0.75;
-    public static final double COME_DOWN_TIME = 0.25;
-
-    // for timeline Duration instances, in seconds
-    public static final double COME_UP_MOMENT = COME_UP_TIME;
-    public static final double STAY_UP_MOMENT = COME_UP_MOMENT + STAY_UP_TIME;
-    public static final double COME_DOWN_MOMENT = STAY_UP_MOMENT + COME_DOWN_TIME;
+    public static final int POINTS_PER_SPIKE = VERTICES_IN_CIRCLE + 1;  // + 1 because the last point is the tip
+    public static final int FACES_PER_SPIKE = VERTICES_IN_CIRCLE * 2;
 
     public static final PhongMaterial SPIKE_MATERIAL = new PhongMaterial(Color.DARKGRAY);
-    public static final Image SPIKE_IMAGE = new Image("resources/metal.jpg");
+    public static final String SPIKE_IMAGE_RESOURCE = "resources/metal.jpg";
+    public static final Image SPIKE_IMAGE = Assets.getImage(SPIKE_IMAGE_RESOURCE);
 
     static {
         SPIKE_MATERIAL.setDiffuseMap(SPIKE_IMAGE);
     }
 
-    private final SequentialTransition upDown;
+    private static final double[] CONE_POINTS = createConePoints();   // relative to the center of the base, which is at Y = SPIKE_HEIGHT / 2
+
+    public static final float[] TEX_COORDS = {
+        0.0f, 1.0f,
+        0.5f, 0.0f,
+        1.0f, 1.0f
+    };
+
+    private final int xCount;
+    private final int zCount;
+    private final double xStart;
+    private final double zStart;
+
+    private double raise = 0;   // how far the spikes have come up, from 0 to SPIKE_HEIGHT
+
+    private final FloorWithSpikes floor;
+    int firstPoint;     // index of the first coordinate of the points of these spikes in the mesh of the floor
 
-    public Spikes(Vector position, double areaWidth, double areaLength) {
+    public Spikes(Vector position, double areaWidth, double areaLength, FloorWithSpikes floor, EntityStore store) {
         super(position);
+        this.floor = floor;
+        xCount = (int) (areaWidth / (SPIKE_RADIUS * 2));
+        xStart = -areaWidth / 2 + (areaWidth - (SPIKE_RADIUS * 2 * xCount)) / 2 + SPIKE_RADIUS;
+        zCount = (int) (areaLength / (SPIKE_RADIUS * 2));
+        zStart = -areaLength / 2 + (areaLength - (SPIKE_RADIUS * 2 * zCount)) / 2 + SPIKE_RADIUS;
+        addToStore(store);
+        setRaise(0);
+    }
+
+    public void raise() {   // the spikes come up, stay up and go down again
+        getStore().startPhase(getEntity());
+    }
 
-        Group spikes = new Group();
-        int xCount = (int) (areaWidth / (SPIKE_RADIUS * 2));
-        double xStart = -areaWidth / 2 + (areaWidth - (SPIKE_RADIUS * 2 * xCount)) / 2 + SPIKE_RADIUS;
-        int zCount = (int) (areaLength / (SPIKE_RADIUS * 2));
-        double zStart = -areaLength / 2 + (areaLength - (SPIKE_RADIUS * 2 * zCount)) / 2 + SPIKE_RADIUS;
+    @Override
+    public void sync() {
+        final double seconds = getStore().getPhase(getEntity());
+        floor.setSpikesRaise(this, SpikesModel.raiseAt(seconds));
+        if (seconds >= SpikesModel.COME_DOWN_MOMENT) {
+            getStore().stopPhase(getEntity());
+            setDamaging(true);
+        }
+    }
+
+    public void stop() {
+        getStore().stopPhase(getEntity());
+    }
+
+    public int getSpikeCount() {
+        return xCount * zCount;
+    }
+
+    /*
+    Writes the points of all cones, lowered, into the given array starting at the given index. The coordinates are
+    relative to the given origin, which is the position of this object in the coordinate system of the mesh.
+     */
+    public void writePoints(float[] points, int start, double originX, double originY, double originZ) {
+        int p = start;
         for (int i = 0; i < xCount; i++) {
             for (int j = 0; j < zCount; j++) {
-                MeshView spike = createSpike();
-                spike.setTranslateX(xStart + i * 2 * SPIKE_RADIUS);
-                spike.setTranslateZ(zStart + j * 2 * SPIKE_RADIUS);
-                spikes.getChildren().add(spike);
+                final double x = originX + xStart + i * 2 * SPIKE_RADIUS;
+                final double y = originY + SPIKE_HEIGHT / 2;   // lowered spikes are just below the floor
+                final double z = originZ + zStart + j * 2 * SPIKE_RADIUS;
+                for (int k = 0; k < CONE_POINTS.length; k += 3) {
+                    points[p++] = (float) (x + CONE_POINTS[k]);
+                    points[p++] = (float) (y + CONE_POINTS[k + 1]);
+                    points[p++] = (float) (z + CONE_POINTS[k + 2]);
+                }
             }
         }
-        spikes.setTranslateY(SPIKE_HEIGHT / 2);
-        this.getChildren().addAll(spikes);
-
-        TranslateTransition comeUp = new TranslateTransition(Duration.seconds(COME_UP_TIME), spikes);
-        comeUp.setByY(-SPIKE_HEIGHT);
-        PauseTransition stayUp = new PauseTransition(Duration.seconds(STAY_UP_TIME));
-        TranslateTransition comeDown = new TranslateTransition(Duration.seconds(COME_DOWN_TIME), spikes);
-        comeDown.setByY(SPIKE_HEIGHT);
-        upDown = new SequentialTransition(comeUp, stayUp, comeDown);
-        upDown.setOnFinished(e -> this.setDamaging(true));
     }
 
-    private MeshView createSpike() {
-        float[] points = new float[(VERTICES_IN_CIRCLE + 1) * 3];   // + 1 because the last point is the tip
+    private static double[] createConePoints() {
+        double[] points = new double[POINTS_PER_SPIKE * 3];
         final double angleStep = (360. / VERTICES_IN_CIRCLE) * Math.PI / 180.;
         double angle = 0;
         for (int i = 0; i < points.length - 3; i += 3) {
-            points[i] = (float) (SPIKE_RADIUS * Math.cos(angle));
-            points[i + 1] = (float) (SPIKE_HEIGHT / 2);
-            points[i + 2] = (float) (SPIKE_RADIUS * Math.sin(angle));
+            points[i] = SPIKE_RADIUS * Math.cos(angle);
+            points[i + 1] = SPIKE_HEIGHT / 2;
+            points[i + 2] = SPIKE_RADIUS * Math.sin(angle);
             angle += angleStep;
         }
         points[points.length - 3] = 0;
-        points[points.length - 2] = (float) (-SPIKE_HEIGHT / 2);
+        points[points.length - 2] = -SPIKE_HEIGHT / 2;
         points[points.length - 1] = 0;
+        return points;
+    }
 
-        float[] texCoords = {
-            0.0f, 1.0f,
-            0.5f, 0.0f,
-            1.0f, 1.0f
-        };
-
-        int faces[] = new int[VERTICES_IN_CIRCLE * 12];
-        for (int j = 0, i = 0; i < faces.length; j++, i += 12) {
-            faces[i] = j % VERTICES_IN_CIRCLE;
+    public static void writeFaces(int[] faces, int start, int firstPoint) {  // the faces of one cone whose points start at firstPoint
+        for (int j = 0, i = start; j < VERTICES_IN_CIRCLE; j++, i += 12) {
+            faces[i] = firstPoint + j % VERTICES_IN_CIRCLE;
             faces[i + 1] = 0;
-            faces[i + 2] = (j + 1) % VERTICES_IN_CIRCLE;
+            faces[i + 2] = firstPoint + (j + 1) % VERTICES_IN_CIRCLE;
             faces[i + 3] = 2;
-            faces[i + 4] = VERTICES_IN_CIRCLE;  // tip of the spike
+            faces[i + 4] = firstPoint + VERTICES_IN_CIRCLE;  // tip of the spike
             faces[i + 5] = 1;
 
-            faces[i + 6] = j % VERTICES_IN_CIRCLE;
+            faces[i + 6] = firstPoint + j % VERTICES_IN_CIRCLE;
             faces[i + 7] = 0;
-            faces[i + 8] = VERTICES_IN_CIRCLE;  // tip of the spike
+            faces[i + 8] = firstPoint + VERTICES_IN_CIRCLE;  // tip of the spike
             faces[i + 9] = 1;
-            faces[i + 10] = (j + 1) % VERTICES_IN_CIRCLE;
+            faces[i + 10] = firstPoint + (j + 1) % VERTICES_IN_CIRCLE;
             faces[i + 11] = 2;
         }
+    }
 
-        TriangleMesh mesh = new TriangleMesh();
-        mesh.getPoints().addAll(points);
-        mesh.getTexCoords().addAll(texCoords);
-        mesh.getFaces().addAll(faces);
-        MeshView spike = new MeshView(mesh);
-
-        spike.setMaterial(SPIKE_MATERIAL);
-
-        return spike;
+    public double getRaise() {
+        return raise;
     }
 
-    public void trigger() {
-        if (upDown.getStatus() != Animation.Status.STOPPED) {
-            return;
-        }
-        upDown.play();
+    public void setRaise(double raise) {
+        this.raise = raise;
+        getStore().setShape(getEntity(), -SPIKE_RADIUS * xCount, -raise, -SPIKE_RADIUS * zCount, SPIKE_RADIUS * xCount, SPIKE_HEIGHT - raise, SPIKE_RADIUS * zCount);
+        invalidateWorldBounds();
     }
 
     @Override
-    public List<Animation> getAnimations() {
-        return Arrays.asList(upDown);
+    protected Bounds getCollisionBoundsInLocal() { // the volume the cones would occupy if they were children of this object
+        return new BoundingBox(-SPIKE_RADIUS * xCount, -raise, -SPIKE_RADIUS * zCount, SPIKE_RADIUS * 2 * xCount, SPIKE_HEIGHT, SPIKE_RADIUS * 2 * zCount);
     }
 
 }
@@ -0,0 +1,302 @@
+package objects;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Material;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.Shape3D;
+import javafx.scene.shape.Sphere;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Transform;
+
+/*
+Merges the geometry that never moves or changes into a few meshes, once a room or buffer zone has been built. Nodes are
+marked as static when they are created; a marked shape, or every shape under a marked group, is baked into the
+coordinates of the root and removed. The shapes whose material is a plain opaque color all go into one mesh whose
+texture has a texel for each color, and the others into one mesh for each material. The objects the shapes belonged to
+stay where they are, so walls keep colliding with their own bounds even though they no longer show anything.
+ */
+public final class StaticBatch {
+
+    private static final String STATIC_PROPERTY = "static";
+    private static final int PALETTE_WIDTH = 256;
+
+    private StaticBatch() {
+    }
+
+    public static <T extends Node> T markStatic(T node) {
+        node.getProperties().put(STATIC_PROPERTY, Boolean.TRUE);
+        return node;
+    }
+
+    public static boolean isStatic(Node node) {
+        return node.getProperties().get(STATIC_PROPERTY) == Boolean.TRUE;
+    }
+
+    public static void build(Group root) {
+        List<Shape3D> shapes = new ArrayList<>();
+        List<Node> batched = new ArrayList<>();
+        collect(root, shapes, batched);
+        if (shapes.isEmpty()) {
+            return;
+        }
+
+        List<Color> palette = new ArrayList<>();
+        Map<Color, Integer> paletteIndex = new LinkedHashMap<>();
+        Map<Material, List<Shape3D>> byMaterial = new LinkedHashMap<>();   // materials are compared by identity
+        List<Shape3D> plain = new ArrayList<>();
+        for (Shape3D shape : shapes) {
+            if (isPlain(shape.getMaterial())) {
+                final Color color = ((PhongMaterial) shape.getMaterial()).getDiffuseColor();
+                if (!paletteIndex.containsKey(color)) {
+                    paletteIndex.put(color, palette.size());
+                    palette.add(color);
+                }
+                plain.add(shape);
+            } else {
+                byMaterial.computeIfAbsent(shape.getMaterial(), m -> new ArrayList<>()).add(shape);
+            }
+        }
+
+        if (!plain.isEmpty()) {
+            final int paletteWidth = Math.min(palette.size(), PALETTE_WIDTH);
+            final int paletteHeight = (palette.size() + PALETTE_WIDTH - 1) / PALETTE_WIDTH;
+            WritableImage texture = new WritableImage(paletteWidth, paletteHeight);
+            PixelWriter writer = texture.getPixelWriter();
+            for (int c = 0; c < palette.size(); c++) {
+                writer.setColor(c % PALETTE_WIDTH, c / PALETTE_WIDTH, palette.get(c));
+            }
+            PhongMaterial material = new PhongMaterial(Color.WHITE);
+            material.setDiffuseMap(texture);
+
+            MeshBuilder builder = new MeshBuilder();
+            for (Shape3D shape : plain) {
+                final int c = paletteIndex.get(((PhongMaterial) shape.getMaterial()).getDiffuseColor());
+                builder.setColor((c % PALETTE_WIDTH + 0.5f) / paletteWidth, (c / PALETTE_WIDTH + 0.5f) / paletteHeight);
+                builder.add(shape, root);
+            }
+            root.getChildren().add(builder.toMeshView(material));
+        }
+        for (Map.Entry<Material, List<Shape3D>> entry : byMaterial.entrySet()) {
+            MeshBuilder builder = new MeshBuilder();
+            for (Shape3D shape : entry.getValue()) {
+                builder.add(shape, root);
+            }
+            root.getChildren().add(builder.toMeshView(entry.getKey()));
+        }
+
+        for (Node node : batched) {
+            ((Group) node.getParent()).getChildren().remove(node);
+        }
+    }
+
+    private static void collect(Parent parent, List<Shape3D> shapes, List<Node> batched) {
+        for (Node node : parent.getChildrenUnmodifiable()) {
+            if (isStatic(node) && parent instanceof Group && isBatchable(node)) {
+                addShapes(node, shapes);
+                batched.add(node);
+            } else if (node instanceof Parent) {
+                collect((Parent) node, shapes, batched);
+            }
+        }
+    }
+
+    private static boolean isBatchable(Node node) {  // a supported shape, or a group made only of supported shapes
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                if (!isBatchable(child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (!(node instanceof Box || node instanceof Cylinder || node instanceof Sphere)) {
+            return false;
+        }
+        Shape3D shape = (Shape3D) node;
+        return node.isVisible() && shape.getMaterial() instanceof PhongMaterial
+                && shape.getDrawMode() == DrawMode.FILL && shape.getCullFace() == CullFace.BACK;
+    }
+
+    private static void addShapes(Node node, List<Shape3D> shapes) {
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                addShapes(child, shapes);
+            }
+        } else {
+            shapes.add((Shape3D) node);
+        }
+    }
+
+    private static boolean isPlain(Material material) {    // can be replaced by a texel of the palette
+        PhongMaterial phong = (PhongMaterial) material;
+        return phong.getDiffuseMap() == null && phong.getSpecularMap() == null && phong.getBumpMap() == null
+                && phong.getSelfIlluminationMap() == null && phong.getSpecularColor() == null
+                && phong.getDiffuseColor() != null && phong.getDiffuseColor().getOpacity() == 1;
+    }
+
+    /*
+    Appends the triangles of the shapes, in the coordinates of the root. The primitives are convex and centered on their
+    origin, so every triangle is turned to face away from the origin of its shape, which is how JavaFX winds its own
+    meshes. Each face of a box and each cap of a cylinder has its own points, so the edges between them stay sharp.
+     */
+    private static final class MeshBuilder {
+
+        private final TriangleMesh mesh = new TriangleMesh();
+        private int points = 0;
+
+        private boolean paletteColor = false;
+        private float colorU, colorV;
+
+        private Transform toRoot;
+        private boolean mirrored;
+        private final List<double[]> shapePoints = new ArrayList<>();   // in the coordinates of the shape
+        private int firstPoint;
+
+        void setColor(float u, float v) {   // every point of the following shapes gets this texture coordinate
+            paletteColor = true;
+            colorU = u;
+            colorV = v;
+        }
+
+        void add(Shape3D shape, Group root) {
+            Affine transform = new Affine();
+            for (Node node = shape; node != root; node = node.getParent()) {
+                transform.prepend(node.getLocalToParentTransform());
+            }
+            toRoot = transform;
+            mirrored = transform.determinant() < 0;
+            firstPoint = points;
+            shapePoints.clear();
+
+            if (shape instanceof Box) {
+                addBox((Box) shape);
+            } else if (shape instanceof Cylinder) {
+                addCylinder((Cylinder) shape);
+            } else {
+                addSphere((Sphere) shape);
+            }
+        }
+
+        private void addBox(Box box) {
+            final double x = box.getWidth() / 2, y = box.getHeight() / 2, z = box.getDepth() / 2;
+            for (int axis = 0; axis < 3; axis++) {
+                for (int side = -1; side <= 1; side += 2) {
+                    final int p = points;
+                    for (int k = 0; k < 4; k++) {
+                        final double a = k == 0 || k == 3 ? -1 : 1;  // corners of the face, in order around it
+                        final double b = k < 2 ? -1 : 1;
+                        final double[] corner = axis == 0 ? new double[]{side * x, a * y, b * z}
+                                : axis == 1 ? new double[]{a * x, side * y, b * z}
+                                : new double[]{a * x, b * y, side * z};
+                        addPoint(corner, (float) (a + 1) / 2, (float) (b + 1) / 2);
+                    }
+                    addTriangle(p, p + 1, p + 2);
+                    addTriangle(p, p + 2, p + 3);
+                }
+            }
+        }
+
+        private void addCylinder(Cylinder cylinder) {
+            final double r = cylinder.getRadius(), h = cylinder.getHeight() / 2;
+            final int divisions = Math.max(3, cylinder.getDivisions());
+            final int side = points;
+            for (int k = 0; k <= divisions; k++) {
+                final double angle = 2 * Math.PI * k / divisions;
+                final double x = r * Math.cos(angle), z = r * Math.sin(angle);
+                addPoint(new double[]{x, -h, z}, (float) k / divisions, 0);
+                addPoint(new double[]{x, h, z}, (float) k / divisions, 1);
+            }
+            for (int k = 0; k < divisions; k++) {
+                final int p = side + 2 * k;
+                addTriangle(p, p + 1, p + 3);
+                addTriangle(p, p + 3, p + 2);
+            }
+            for (int cap = -1; cap <= 1; cap += 2) {
+                final int center = points;
+                addPoint(new double[]{0, cap * h, 0}, 0.5f, 0.5f);
+                for (int k = 0; k < divisions; k++) {
+                    final double angle = 2 * Math.PI * k / divisions;
+                    addPoint(new double[]{r * Math.cos(angle), cap * h, r * Math.sin(angle)},
+                            (float) (1 + Math.cos(angle)) / 2, (float) (1 + Math.sin(angle)) / 2);
+                }
+                for (int k = 0; k < divisions; k++) {
+                    addTriangle(center, center + 1 + k, center + 1 + (k + 1) % divisions);
+                }
+            }
+        }
+
+        private void addSphere(Sphere sphere) {
+            final double r = sphere.getRadius();
+            final int around = Math.max(4, sphere.getDivisions());
+            final int rings = around / 2;
+            final int first = points;
+            for (int ring = 0; ring <= rings; ring++) {
+                final double polar = Math.PI * ring / rings;
+                final double y = -r * Math.cos(polar), ringRadius = r * Math.sin(polar);
+                for (int k = 0; k <= around; k++) {
+                    final double angle = 2 * Math.PI * k / around;
+                    addPoint(new double[]{ringRadius * Math.cos(angle), y, ringRadius * Math.sin(angle)}, (float) k / around, (float) ring / rings);
+                }
+            }
+            for (int ring = 0; ring < rings; ring++) {
+                for (int k = 0; k < around; k++) {
+                    final int p = first + ring * (around + 1) + k;
+                    final int below = p + around + 1;
+                    if (ring > 0) {     // the triangles touching a pole would have no area
+                        addTriangle(p, p + 1, below);
+                    }
+                    if (ring < rings - 1) {
+                        addTriangle(p + 1, below + 1, below);
+                    }
+                }
+            }
+        }
+
+        private void addPoint(double[] local, float u, float v) {
+            shapePoints.add(local);
+            final Point3D p = toRoot.transform(local[0], local[1], local[2]);
+            mesh.getPoints().addAll((float) p.getX(), (float) p.getY(), (float) p.getZ());
+            mesh.getTexCoords().addAll(paletteColor ? colorU : u, paletteColor ? colorV : v);
+            ++points;
+        }
+
+        private void addTriangle(int a, int b, int c) {
+            final double[] pa = shapePoints.get(a - firstPoint), pb = shapePoints.get(b - firstPoint), pc = shapePoints.get(c - firstPoint);
+            final double ux = pb[0] - pa[0], uy = pb[1] - pa[1], uz = pb[2] - pa[2];
+            final double vx = pc[0] - pa[0], vy = pc[1] - pa[1], vz = pc[2] - pa[2];
+            final double outward = (uy * vz - uz * vy) * (pa[0] + pb[0] + pc[0])
+                    + (uz * vx - ux * vz) * (pa[1] + pb[1] + pc[1])
+                    + (ux * vy - uy * vx) * (pa[2] + pb[2] + pc[2]);
+            if ((outward < 0) != mirrored) {
+                final int t = b;
+                b = c;
+                c = t;
+            }
+            mesh.getFaces().addAll(a, a, b, b, c, c);   // every point has its own texture coordinate
+        }
+
+        MeshView toMeshView(Material material) {
+            MeshView view = new MeshView(mesh);
+            view.setMaterial(material);
+            return view;
+        }
+
+    }
+
+}
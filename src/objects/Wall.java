@@ -2,6 +2,8 @@ package objects;
 
 import concepts.GameObject;
 import concepts.Vector;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
@@ -25,7 +27,12 @@ public class Wall extends GameObject {
         super(position);
         Box wall = new Box(this.width = width, this.height = height, this.depth = depth);
         wall.setMaterial(material);
-        this.getChildren().add(wall);
+        this.getChildren().add(StaticBatch.markStatic(wall));
+    }
+
+    @Override
+    protected Bounds getCollisionBoundsInLocal() {  // the box may have been merged into the static mesh of the room
+        return new BoundingBox(-width / 2, -height / 2, -depth / 2, width, height, depth);
     }
 
     public double getWidth() {
@@ -1,10 +1,12 @@
 package rooms;
 
 import concepts.Animated;
+import concepts.ClockedAnimation;
 import concepts.GameObject;
 import concepts.Vector;
 import game.Game;
 import java.util.ArrayList;
+import java.util.List;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.transform.Rotate;
@@ -33,6 +35,7 @@ public class BufferZone extends GameObject implements Animated {
     private final Gate endGate;
 
     protected final ArrayList<GameObject> collisionObjects = new ArrayList<>();
+    private final ArrayList<ClockedAnimation> animations = new ArrayList<>(2);   // of the gates
 
     public BufferZone(Vector position, Game game, boolean gateAtStart, boolean gateAtEnd) {
         this(position, game, DEFAULT_FLOOR_WIDTH, DEFAULT_FLOOR_LENGTH, gateAtStart, gateAtEnd);
@@ -53,6 +56,7 @@ public class BufferZone extends GameObject implements Animated {
         if (gateAtStart) {
             startGate = new Gate(new Vector(0, -DEFAULT_ENTRANCE_HEIGHT / 2, -length / 2 - Gate.BAR_RADIUS * 7 / 8));
             collisionObjects.add(startGate);
+            animations.addAll(startGate.getAnimations());
             collisionObjects.add(new Wall(new Vector(0, -wallHeight * 3 / 4, -length / 2 + wallThickness / 2), width, entranceWallHeight, wallThickness));
         } else {
             startGate = null;
@@ -61,6 +65,7 @@ public class BufferZone extends GameObject implements Animated {
         if (gateAtEnd) {
             endGate = new Gate(new Vector(0, -DEFAULT_ENTRANCE_HEIGHT / 2, length / 2 + Gate.BAR_RADIUS * 7 / 8));
             collisionObjects.add(endGate);
+            animations.addAll(endGate.getAnimations());
             collisionObjects.add(new Wall(new Vector(0, -wallHeight * 3 / 4, length / 2 - wallThickness / 2), width, entranceWallHeight, wallThickness));
         } else {
             endGate = null;
@@ -92,6 +97,11 @@ public class BufferZone extends GameObject implements Animated {
         }
     }
 
+    @Override
+    public List<ClockedAnimation> getAnimations() {
+        return animations;
+    }
+
     public void triggerStartGate() {
         triggerGate(startGate);
     }
@@ -113,15 +123,13 @@ public class BufferZone extends GameObject implements Animated {
         if (gate == null) {
             return;
         }
-        boolean open = gate.isOpen();
-        if (gate.trigger() == true) {
-            if (open) {  // the gate will be closed after the animation ends
-                this.collisionObjects.add(gate);
-                game.getCollisionObjects().add(gate);
-            } else {
-                this.collisionObjects.remove(gate);
-                game.getCollisionObjects().remove(gate);
-            }
+        gate.trigger();
+        if (gate.isOpen()) {
+            this.collisionObjects.remove(gate);
+            game.removeCollisionObject(gate);
+        } else {
+            this.collisionObjects.add(gate);
+            game.addCollisionObject(gate);
         }
     }
     
@@ -0,0 +1,149 @@
+package rooms;
+
+import concepts.GameObject;
+import concepts.Vector;
+import java.util.Arrays;
+import javafx.geometry.Point3D;
+import javafx.scene.Camera;
+import javafx.scene.PerspectiveCamera;
+import objects.Wall;
+
+/*
+Hides the rooms and buffer zones that cannot be seen from the camera. They form a chain along the Z axis, and each one
+can only be seen from its neighbours through the entrance of the buffer zone between them, so starting from the one the
+camera is in, the chain is followed in both directions for as long as the next entrance is in view. Every entrance that
+is passed narrows the part of the view through which the following ones can be seen. Gates are made of bars that do not
+block the view, so whether they are open does not matter. When the camera is not inside the chain, as the cameras
+looking from above are not, everything is shown.
+ */
+public class PortalCulling {
+
+    private final RoomStreamer streamer;
+
+    // cell 2 * i is the buffer zone with index i, cell 2 * i + 1 is the room with index i
+    private final double[] cellStartZ;
+    private final double[] cellEndZ;
+    private final boolean[] visible;
+
+    private final double portalMinX, portalMaxX;
+    private final double portalMinY, portalMaxY;
+    private final double wallTopY;
+
+    // the part of the view through which the next entrance can be seen, as tangents of angles from the view direction
+    private double windowMinX, windowMaxX, windowMinY, windowMaxY;
+
+    public PortalCulling(RoomStreamer streamer) {
+        this.streamer = streamer;
+        final int rooms = streamer.getNumberOfRooms();
+        cellStartZ = new double[2 * rooms + 1];
+        cellEndZ = new double[2 * rooms + 1];
+        visible = new boolean[2 * rooms + 1];
+        for (int i = 0; i <= rooms; i++) {
+            final double z = streamer.getBufferZonePosition(i).getZ();
+            cellStartZ[2 * i] = z - BufferZone.DEFAULT_FLOOR_LENGTH / 2;
+            cellEndZ[2 * i] = z + BufferZone.DEFAULT_FLOOR_LENGTH / 2;
+            if (i < rooms) {
+                cellStartZ[2 * i + 1] = cellEndZ[2 * i];
+                cellEndZ[2 * i + 1] = cellEndZ[2 * i] + streamer.getRoomLength(i);
+            }
+        }
+
+        Vector first = streamer.getBufferZonePosition(0);
+        portalMinX = first.getX() - BufferZone.DEFAULT_FLOOR_WIDTH / 2;
+        portalMaxX = first.getX() + BufferZone.DEFAULT_FLOOR_WIDTH / 2;
+        portalMinY = first.getY() - BufferZone.DEFAULT_ENTRANCE_HEIGHT;
+        portalMaxY = first.getY();
+        wallTopY = first.getY() - Wall.DEFAULT_HEIGHT;
+    }
+
+    public void update(Camera camera, double aspectRatio) {    // called every frame, after the camera has been moved
+        final Point3D eye = camera.localToScene(0, 0, 0);
+        final int cell = cellAt(eye);
+        if (cell < 0 || !(camera instanceof PerspectiveCamera)) {
+            Arrays.fill(visible, true);
+            apply();
+            return;
+        }
+
+        final PerspectiveCamera perspectiveCamera = (PerspectiveCamera) camera;
+        final double tanHalfAngle = Math.tan(Math.toRadians(perspectiveCamera.getFieldOfView() / 2));
+        final double tanX = perspectiveCamera.isVerticalFieldOfView() ? tanHalfAngle * aspectRatio : tanHalfAngle;
+        final double tanY = perspectiveCamera.isVerticalFieldOfView() ? tanHalfAngle : tanHalfAngle / aspectRatio;
+
+        Arrays.fill(visible, false);
+        visible[cell] = true;
+        resetWindow(tanX, tanY);
+        for (int c = cell + 1; c < visible.length && seeThroughPortal(camera, eye, cellStartZ[c]); c++) {
+            visible[c] = true;
+        }
+        resetWindow(tanX, tanY);
+        for (int c = cell - 1; c >= 0 && seeThroughPortal(camera, eye, cellEndZ[c]); c--) {
+            visible[c] = true;
+        }
+        apply();
+    }
+
+    private int cellAt(Point3D eye) {
+        if (eye.getY() < wallTopY) {
+            return -1;
+        }
+        for (int c = 0; c < visible.length; c++) {
+            if (eye.getZ() >= cellStartZ[c] && eye.getZ() < cellEndZ[c]) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private void resetWindow(double tanX, double tanY) {
+        windowMinX = -tanX;
+        windowMaxX = tanX;
+        windowMinY = -tanY;
+        windowMaxY = tanY;
+    }
+
+    /*
+    Narrows the window to the entrance at the given Z and returns whether anything can still be seen through it.
+     */
+    private boolean seeThroughPortal(Camera camera, Point3D eye, double z) {
+        if (Math.abs(eye.getZ() - z) < Wall.DEFAULT_THICKNESS) {  // standing in the entrance, which then hides nothing
+            return true;
+        }
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        int behind = 0;
+        for (int k = 0; k < 4; k++) {
+            final Point3D corner = camera.sceneToLocal(k % 2 == 0 ? portalMinX : portalMaxX, k < 2 ? portalMinY : portalMaxY, z);
+            if (corner.getZ() <= camera.getNearClip()) {
+                ++behind;
+                continue;
+            }
+            final double x = corner.getX() / corner.getZ();
+            final double y = corner.getY() / corner.getZ();
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        if (behind == 4) {
+            return false;
+        } else if (behind > 0) {    // the projection of the entrance is unbounded, so the window is left as it is
+            return true;
+        }
+        windowMinX = Math.max(windowMinX, minX);
+        windowMaxX = Math.min(windowMaxX, maxX);
+        windowMinY = Math.max(windowMinY, minY);
+        windowMaxY = Math.min(windowMaxY, maxY);
+        return windowMinX < windowMaxX && windowMinY < windowMaxY;
+    }
+
+    private void apply() {
+        for (int c = 0; c < visible.length; c++) {
+            GameObject node = c % 2 == 0 ? streamer.getBufferZone(c / 2) : streamer.getRoom(c / 2);
+            if (node != null) {   // only the resident ones
+                node.setVisible(visible[c]);
+            }
+        }
+    }
+
+}
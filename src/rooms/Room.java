@@ -1,26 +1,34 @@
 package rooms;
 
 import concepts.Animated;
+import concepts.ClockedAnimation;
+import concepts.CollectibleObject;
 import concepts.DamagingObject;
+import concepts.GameClock;
 import concepts.GameObject;
 import concepts.Updatable;
 import concepts.Vector;
 import game.Game;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import javafx.animation.Animation;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.scene.PointLight;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
-import objects.Clock;
-import objects.Coin;
+import objects.CollectiblePool;
 import objects.FloorWithTiles;
-import objects.Heart;
 import objects.Player;
 import objects.Wall;
+import simulation.ArenaModel;
+import simulation.EntityStore;
+import simulation.ObjectRegistry;
+import simulation.PoissonProcess;
+import simulation.RandomStream;
+import simulation.TimerWheel;
 
 public abstract class Room extends GameObject implements Updatable, Animated {
 
@@ -29,10 +37,26 @@ public abstract class Room extends GameObject implements Updatable, Animated {
     protected final double width;
     protected final double length;
 
-    protected final ArrayList<GameObject> collisionObjects = new ArrayList<>();
+    public enum ObjectKind {
+        STATIC, DAMAGING, COLLECTIBLE;
+    }
+
+    // the objects the player can collide with, by kind, so that finishing the room only touches the objects it removes
+    protected final ObjectRegistry<ObjectKind, GameObject> collisionObjects = new ObjectRegistry<>(ObjectKind.class);
+
+    private final CollectiblePool collectibles = new CollectiblePool(this);
+
+    protected final TimerWheel scheduler = new TimerWheel(ArenaModel.TICK_SECONDS);   // hazards and other timed room events, advanced once per tick
+
+    // the moving and timed state of the hazards, in the coordinates of the room, advanced once per tick
+    protected final EntityStore hazards = new EntityStore(getPosition().getX(), getPosition().getY(), getPosition().getZ());
+
+    private final ArrayDeque<Runnable> laterParts = new ArrayDeque<>();    // see buildLater
+
+    private final ArrayList<ClockedAnimation> animations = new ArrayList<>();   // of the room and its objects, added as they are created
 
     protected PointLight movingLight;
-    private SequentialTransition lightMovement;
+    private ClockedAnimation lightMovement;
     private static final double LIGHT_DISTANCE_FROM_WALL = 30;
 
     public Room(Vector position, Game game, double width, double length) {
@@ -41,38 +65,100 @@ public abstract class Room extends GameObject implements Updatable, Animated {
         this.width = width;
         this.length = length;
         createMovingLight();
+        buildLater(() -> collectibles.prefill(ArenaModel.NUMBER_OF_COINS, 2, 1));   // at most two clocks and one heart appear in a room
+    }
+
+    /*
+    Parts of the room that nothing needs until the player can see into it, like the scenery, are built after the
+    constructor, one part at a time, so that building a room ahead of the player is spread over several ticks instead of
+    holding up one. They are built in the order they were added, so the random choices they make do not change.
+     */
+    protected void buildLater(Runnable part) {
+        laterParts.add(part);
+    }
+
+    public boolean buildNextPart() {    // returns whether more parts are left
+        final Runnable part = laterParts.poll();
+        if (part != null) {
+            part.run();
+        }
+        return !laterParts.isEmpty();
     }
 
     protected abstract FloorWithTiles getFloorWithTiles();
 
+    @Override
+    public void update() {
+        hazards.update(ArenaModel.TICK_SECONDS);
+        scheduler.advance();
+        collectibles.spin(ArenaModel.TICK_SECONDS);
+    }
+
+    public void scheduleArrivals(PoissonProcess arrivals, Runnable onArrival) {  // keeps running the action at random times until the room is finished
+        scheduler.schedule(arrivals.nextIntervalSeconds(RandomStream.ARRIVALS.get()), () -> {
+            onArrival.run();
+            scheduleArrivals(arrivals, onArrival);
+        });
+    }
+
     public GameObject populateRandomTile(FloorWithTiles.PopulateOption option, Player player) {
-        GameObject object = getFloorWithTiles().populateRandomTile(option, player);
-        this.getChildren().add(object);
-        collisionObjects.add(object);
+        GameObject object = getFloorWithTiles().populateRandomTile(option, player, collectibles);
+        if (object == null) {   // no free tile
+            return null;
+        }
+        collisionObjects.add(ObjectKind.COLLECTIBLE, object);   // the pool keeps it attached to the room
         return object;
     }
 
     public void removeObject(GameObject object) {
-        if (object instanceof Coin || object instanceof Heart || object instanceof Clock) {
-            getFloorWithTiles().unpopulateTile(object);
+        if (object instanceof CollectibleObject) {
+            if (collisionObjects.remove(object)) {  // hidden objects in the pool are not in use
+                getFloorWithTiles().unpopulateTile(object);
+                collectibles.release((CollectibleObject) object);
+            }
+            return;
+        }
+        if (object.getParent() == this) {
+            this.getChildren().remove(object);
         }
-        this.getChildren().remove(object);
         collisionObjects.remove(object);
     }
 
+    protected void addCollisionObject(GameObject object) {
+        collisionObjects.add(kindOf(object), object);
+    }
+
+    protected void addCollisionObjects(Collection<? extends GameObject> objects) {
+        for (GameObject object : objects) {
+            addCollisionObject(object);
+        }
+    }
+
+    private static ObjectKind kindOf(GameObject object) {
+        if (object instanceof DamagingObject) {
+            return ObjectKind.DAMAGING;
+        } else if (object instanceof CollectibleObject) {
+            return ObjectKind.COLLECTIBLE;
+        }
+        return ObjectKind.STATIC;
+    }
+
     public List<GameObject> removeUnnecessaryObjectsAndFinalize() {
-        List<GameObject> objectsToRemove = new ArrayList<>();
-        GameObject.getAllSubnodes(this).stream()
-                .filter(n -> (n instanceof DamagingObject || n instanceof Coin || n instanceof Clock || n instanceof Heart))
-                .forEach(n -> objectsToRemove.add((GameObject) n));
+        List<GameObject> objectsToRemove = new ArrayList<>(collisionObjects.size(ObjectKind.DAMAGING) + collisionObjects.size(ObjectKind.COLLECTIBLE));
+        objectsToRemove.addAll(collisionObjects.get(ObjectKind.DAMAGING));
+        objectsToRemove.addAll(collisionObjects.get(ObjectKind.COLLECTIBLE));
         objectsToRemove.forEach(o -> removeObject(o));
 
+        scheduler.clear();
+        hazards.halt();
+        getFloorWithTiles().resetTiles();
+
         movingLight.setLightOn(false);  // Remove the light?
 
-        this.getAnimations().stream().forEach(a -> {
+        for (ClockedAnimation a : animations) {
             a.jumpTo(Duration.ZERO);
             a.stop();
-        });
+        }
 
         return objectsToRemove;
     }
@@ -107,7 +193,7 @@ public abstract class Room extends GameObject implements Updatable, Animated {
         final double timeAlongX = 2;
         final double timeAlongZ = timeAlongX / width * length;
 
-        lightMovement = new SequentialTransition(movingLight);
+        SequentialTransition movement = new SequentialTransition(movingLight);
         TranslateTransition tx1 = new TranslateTransition(Duration.seconds(timeAlongX));
         tx1.setByX(width - 2 * LIGHT_DISTANCE_FROM_WALL);
         TranslateTransition tx2 = new TranslateTransition(Duration.seconds(timeAlongZ));
@@ -116,17 +202,21 @@ public abstract class Room extends GameObject implements Updatable, Animated {
         tx3.setByX(-width + 2 * LIGHT_DISTANCE_FROM_WALL);
         TranslateTransition tx4 = new TranslateTransition(Duration.seconds(timeAlongZ));
         tx4.setByZ(-length + 2 * LIGHT_DISTANCE_FROM_WALL);
-        lightMovement.getChildren().addAll(tx1, tx2, tx3, tx4);
-        lightMovement.setCycleCount(Timeline.INDEFINITE);
+        movement.getChildren().addAll(tx1, tx2, tx3, tx4);
+        movement.setCycleCount(Timeline.INDEFINITE);
+        lightMovement = GameClock.getInstance().animate(movement);
         lightMovement.play();
+        animations.add(lightMovement);
     }
 
     protected abstract Color movingLightColor();
 
+    protected void addAnimations(Animated object) {  // of an object of the room, when it is created
+        animations.addAll(object.getAnimations());
+    }
+
     @Override
-    public final List<Animation> getAnimations() {
-        List<Animation> animations = Animated.super.getAnimations();
-        animations.add(lightMovement);
+    public final List<ClockedAnimation> getAnimations() {
         return animations;
     }
 
@@ -139,7 +229,11 @@ public abstract class Room extends GameObject implements Updatable, Animated {
     }
 
     public List<GameObject> getCollisionObjects() {
-        return collisionObjects;
+        return collisionObjects.getAll();
+    }
+
+    public EntityStore getHazards() {
+        return hazards;
     }
 
     public PointLight getMovingLight() {
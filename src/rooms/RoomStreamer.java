@@ -0,0 +1,242 @@
+package rooms;
+
+import concepts.ClockedAnimation;
+import concepts.Vector;
+import game.Game;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import javafx.scene.Group;
+import objects.Picture;
+import objects.Player;
+import objects.StaticBatch;
+import objects.Wall;
+
+/*
+Builds the rooms of the arena and the buffer zones between them as the player advances. Only the previous, current and
+next room are attached, each with the buffer zones on both of its sides. Once the player enters a room, the room two
+places behind is behind two closed gates, so it is detached and released, and the room after the entered one is built.
+The number of nodes therefore does not depend on the number of rooms, and the static geometry of each room and buffer
+zone is merged into a few meshes as soon as it is built.
+
+The room after the entered one stays behind a closed gate until the entered room is finished, so it is built a step per
+tick rather than all at once: the room itself, each part it builds later, the merging of its static geometry, attaching
+it, and the buffer zone after it. Building a room takes tens of milliseconds, which would otherwise fall into the frame
+in which the player enters a room. The steps run in the ticks, not whenever a frame has time for them, because the rooms
+make random choices as they are built, and a replay has to make them at the same ticks.
+ */
+public class RoomStreamer {
+
+    public enum RoomKind {
+        SPIKES(RoomWithSpikes.DEFAULT_LENGTH, RoomWithSpikes::new),
+        PROJECTILES(RoomWithProjectiles.DEFAULT_LENGTH, RoomWithProjectiles::new),
+        BLADES(RoomWithBlades.DEFAULT_LENGTH, RoomWithBlades::new);
+
+        private final double length;
+        private final BiFunction<Vector, Game, Room> constructor;
+
+        private RoomKind(double length, BiFunction<Vector, Game, Room> constructor) {
+            this.length = length;
+            this.constructor = constructor;
+        }
+    }
+
+    private final Game game;
+    private final Group parent;
+
+    private final RoomKind[] kinds;
+    private final String[] wallPictures;    // two for each buffer zone in front of a room, repeated if there are not enough
+    private final String arenaPicture;      // on the end wall of the last buffer zone
+    private final double arenaPictureSize;
+
+    private final Vector[] roomPositions;
+    private final Vector[] bufferZonePositions;    // the buffer zone with index i is in front of the room with index i
+    private final Room[] rooms;                 // null if not built yet or already released
+    private final BufferZone[] bufferZones;
+
+    private int firstResidentRoom = 0;   // the rooms before it have been released
+    private int queuedRooms = 0;         // the rooms from it on have not been started yet
+
+    private enum BuildStep {
+        BUFFER_ZONE_BEFORE, ROOM, PARTS, STATIC_BATCH, ATTACH, BUFFER_ZONE_AFTER, DONE;
+    }
+
+    private final class RoomBuild {
+
+        private final int index;
+        private Room room = null;
+        private BuildStep step = BuildStep.BUFFER_ZONE_BEFORE;
+
+        RoomBuild(int index) {
+            this.index = index;
+        }
+
+        boolean next() {    // takes one step; returns whether it attached anything
+            switch (step) {
+                case BUFFER_ZONE_BEFORE:
+                    step = BuildStep.ROOM;
+                    return buildBufferZone(index);
+                case ROOM:
+                    room = kinds[index].constructor.apply(roomPositions[index].duplicate(), game);
+                    step = BuildStep.PARTS;
+                    return false;
+                case PARTS:
+                    if (!room.buildNextPart()) {
+                        step = BuildStep.STATIC_BATCH;
+                    }
+                    return false;
+                case STATIC_BATCH:
+                    StaticBatch.build(room);
+                    step = BuildStep.ATTACH;
+                    return false;
+                case ATTACH:
+                    rooms[index] = room;
+                    parent.getChildren().add(room);
+                    game.addCollisionObjects(room.getCollisionObjects());
+                    step = BuildStep.BUFFER_ZONE_AFTER;
+                    return true;
+                case BUFFER_ZONE_AFTER:
+                    step = BuildStep.DONE;
+                    return buildBufferZone(index + 1);
+                default:
+                    return false;
+            }
+        }
+
+    }
+
+    private final ArrayDeque<RoomBuild> builds = new ArrayDeque<>();
+
+    public RoomStreamer(Game game, Group parent, Vector start, RoomKind[] kinds, String[] wallPictures, String arenaPicture, double arenaPictureSize) {
+        if (kinds.length == 0) {
+            throw new IllegalArgumentException("The arena must have at least one room");
+        }
+        this.game = game;
+        this.parent = parent;
+        this.kinds = kinds.clone();
+        this.wallPictures = wallPictures.clone();
+        this.arenaPicture = arenaPicture;
+        this.arenaPictureSize = arenaPictureSize;
+
+        roomPositions = new Vector[kinds.length];
+        bufferZonePositions = new Vector[kinds.length + 1];
+        rooms = new Room[kinds.length];
+        bufferZones = new BufferZone[kinds.length + 1];
+        bufferZonePositions[0] = start.duplicate();
+        for (int i = 0; i < kinds.length; i++) {
+            roomPositions[i] = bufferZonePositions[i].duplicate().add(0, 0, BufferZone.DEFAULT_FLOOR_LENGTH / 2 + kinds[i].length / 2);
+            bufferZonePositions[i + 1] = roomPositions[i].duplicate().add(0, 0, kinds[i].length / 2 + BufferZone.DEFAULT_FLOOR_LENGTH / 2);
+        }
+    }
+
+    public void advanceTo(int currentRoom) {    // makes the rooms around the given one resident, the one after it over the next ticks
+        final int lastResident = Math.min(currentRoom + 1, rooms.length - 1);
+        while (queuedRooms <= lastResident) {
+            builds.add(new RoomBuild(queuedRooms++));
+        }
+        finishBuilding(currentRoom);
+        while (firstResidentRoom < currentRoom - 1) {
+            releaseRoom(firstResidentRoom++);
+        }
+    }
+
+    public boolean update() {   // called once per tick; returns whether a room or buffer zone was attached
+        final RoomBuild build = builds.peek();
+        if (build == null) {
+            return false;
+        }
+        final boolean attached = build.next();
+        if (build.step == BuildStep.DONE) {
+            builds.poll();
+        }
+        return attached;
+    }
+
+    public boolean finishBuilding(int room) {   // builds the rooms up to the given one at once, if they are not built yet
+        boolean attached = false;
+        while (!builds.isEmpty() && builds.peek().index <= room) {
+            attached |= update();
+        }
+        return attached;
+    }
+
+    private boolean buildBufferZone(int i) {
+        if (bufferZones[i] != null) {
+            return false;
+        }
+        final boolean last = i == rooms.length;
+        BufferZone bz;
+        if (last) {
+            bz = new BufferZone(bufferZonePositions[i].duplicate(), game, true, false);
+            Picture arenaPic = new Picture(new Vector(0, -Player.HEIGHT, BufferZone.DEFAULT_FLOOR_LENGTH / 2 - Wall.DEFAULT_THICKNESS - Picture.TOTAL_THICKNESS), arenaPicture, arenaPictureSize);
+            bz.getChildren().add(arenaPic);
+        } else {
+            bz = new BufferZone(bufferZonePositions[i].duplicate(), game, i > 0, true, wallPictures[(2 * i) % wallPictures.length], wallPictures[(2 * i + 1) % wallPictures.length]);
+        }
+        StaticBatch.build(bz);
+        bufferZones[i] = bz;
+        parent.getChildren().add(bz);
+        game.addCollisionObjects(bz.getCollisionObjects());
+        return true;
+    }
+
+    private void releaseRoom(int i) {
+        Room room = rooms[i];
+        rooms[i] = null;
+        room.getAnimations().forEach(ClockedAnimation::stop);
+        game.removeCollisionObjects(room.getCollisionObjects());
+        parent.getChildren().remove(room);
+
+        BufferZone bz = bufferZones[i];   // the one behind the released room, the one after it is still needed by the next room
+        bufferZones[i] = null;
+        bz.getAnimations().forEach(ClockedAnimation::stop);
+        game.removeCollisionObjects(bz.getCollisionObjects());
+        parent.getChildren().remove(bz);
+    }
+
+    public Room getRoom(int i) {    // null if the room is not resident or not attached yet
+        return rooms[i];
+    }
+
+    public BufferZone getBufferZone(int i) {
+        return bufferZones[i];
+    }
+
+    public Vector getRoomPosition(int i) {
+        return roomPositions[i].duplicate();
+    }
+
+    public double getRoomLength(int i) {
+        return kinds[i].length;
+    }
+
+    public Vector getBufferZonePosition(int i) {
+        return bufferZonePositions[i].duplicate();
+    }
+
+    public int getNumberOfRooms() {
+        return rooms.length;
+    }
+
+    public List<Room> getResidentRooms() {
+        List<Room> resident = new ArrayList<>(3);
+        for (int i = firstResidentRoom; i < queuedRooms; i++) {
+            if (rooms[i] != null) {
+                resident.add(rooms[i]);
+            }
+        }
+        return resident;
+    }
+
+    public List<BufferZone> getResidentBufferZones() {
+        List<BufferZone> resident = new ArrayList<>(4);
+        for (int i = firstResidentRoom; i <= queuedRooms && i < bufferZones.length; i++) {
+            if (bufferZones[i] != null) {
+                resident.add(bufferZones[i]);
+            }
+        }
+        return resident;
+    }
+
+}
@@ -1,9 +1,9 @@
 package rooms;
 
+import concepts.GameObject;
 import concepts.Vector;
 import game.Game;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
@@ -12,8 +12,12 @@ import objects.FloorRegular;
 import objects.FloorWithFlowers;
 import objects.FloorWithProjectiles;
 import objects.FloorWithTiles;
+import objects.Player;
 import objects.Projectile;
 import objects.Wall;
+import simulation.ArenaModel;
+import simulation.PoissonProcess;
+import simulation.SweepAndPrune;
 
 public class RoomWithProjectiles extends Room {
 
@@ -23,18 +27,21 @@ public class RoomWithProjectiles extends Room {
     public static final int DEFAULT_TILES_X = 5;
     public static final int DEFAULT_TILES_Z = 6;
 
+    public static final PoissonProcess PROJECTILES_ARRIVALS = PoissonProcess.fromProbabilityPerTick(0.014, ArenaModel.TICK_SECONDS);
+
     private final double safeZoneLength;
 
     private final FloorWithProjectiles floorWithProjectiles;
     public static final PhongMaterial PROJECTILE_SPAWNING_GROUND_MATERIAL = new PhongMaterial(Color.PURPLE);
-    private final List<Projectile> projectilesToAdd = Collections.synchronizedList(new ArrayList<>(2));
-    private final List<Projectile> projectilesToRemove = Collections.synchronizedList(new ArrayList<>(2));
+
+    private final SweepAndPrune<GameObject> projectileSweep = new SweepAndPrune<>(GameObject::getWorldBounds);  // projectiles travel along X, so that is the swept axis
+    private final List<Projectile> collidedProjectiles = new ArrayList<>();
 
     public RoomWithProjectiles(Vector position, Game game, double width, double length, double safeZoneLength, int tilesX, int tilesZ) {
         super(position, game, width, length);
         this.safeZoneLength = safeZoneLength;
 
-        collisionObjects.addAll(createWalls());
+        addCollisionObjects(createWalls());
 
         final double leftRightDistanceToWalls = width / 9;
         final double launchDistance = leftRightDistanceToWalls / 2;
@@ -42,8 +49,8 @@ public class RoomWithProjectiles extends Room {
         final double floorWithProjectilesLength = length - 2 * safeZoneLength;
         floorWithProjectiles = new FloorWithProjectiles(new Vector(0, Floor.FLOOR_HEIGHT / 2, 0), floorWithProjectilesWidth, floorWithProjectilesLength, tilesX, tilesZ, launchDistance, this);
 
-        FloorWithFlowers floorFront = new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, -length / 2 + safeZoneLength / 2), width, safeZoneLength);
-        FloorWithFlowers floorRear = new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, length / 2 - safeZoneLength / 2), width, safeZoneLength);
+        buildLater(() -> this.getChildren().add(new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, -length / 2 + safeZoneLength / 2), width, safeZoneLength)));
+        buildLater(() -> this.getChildren().add(new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, length / 2 - safeZoneLength / 2), width, safeZoneLength)));
         FloorRegular floorLeft = new FloorRegular(new Vector(-width / 2 + leftRightDistanceToWalls / 2, Floor.FLOOR_HEIGHT / 2, 0), leftRightDistanceToWalls, floorWithProjectilesLength, PROJECTILE_SPAWNING_GROUND_MATERIAL);
         FloorRegular floorRight = new FloorRegular(new Vector(width / 2 - leftRightDistanceToWalls / 2, Floor.FLOOR_HEIGHT / 2, 0), leftRightDistanceToWalls, floorWithProjectilesLength, PROJECTILE_SPAWNING_GROUND_MATERIAL);
 
@@ -51,16 +58,23 @@ public class RoomWithProjectiles extends Room {
         final double guardWallHeight = Math.abs(FloorWithTiles.POPULATING_OBJECT_START_Y * 0.9);
         PhongMaterial guardWallMaterial = new PhongMaterial(Color.GRAY);
 
-        collisionObjects.add(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls - guardWallThickness / 2, -guardWallHeight / 2, 0), guardWallThickness, guardWallHeight, floorWithProjectilesLength - 2 * guardWallThickness, guardWallMaterial));
-        collisionObjects.add(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls / 2, -guardWallHeight / 2, -floorWithProjectilesLength / 2 + guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
-        collisionObjects.add(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls / 2, -guardWallHeight / 2, floorWithProjectilesLength / 2 - guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls - guardWallThickness / 2, -guardWallHeight / 2, 0), guardWallThickness, guardWallHeight, floorWithProjectilesLength - 2 * guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls / 2, -guardWallHeight / 2, -floorWithProjectilesLength / 2 + guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(-width / 2 + leftRightDistanceToWalls / 2, -guardWallHeight / 2, floorWithProjectilesLength / 2 - guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
 
-        collisionObjects.add(new Wall(new Vector(width / 2 - leftRightDistanceToWalls + guardWallThickness / 2, -guardWallHeight / 2, 0), guardWallThickness, guardWallHeight, floorWithProjectilesLength - 2 * guardWallThickness, guardWallMaterial));
-        collisionObjects.add(new Wall(new Vector(width / 2 - leftRightDistanceToWalls / 2, -guardWallHeight / 2, -floorWithProjectilesLength / 2 + guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
-        collisionObjects.add(new Wall(new Vector(width / 2 - leftRightDistanceToWalls / 2, -guardWallHeight / 2, floorWithProjectilesLength / 2 - guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(width / 2 - leftRightDistanceToWalls + guardWallThickness / 2, -guardWallHeight / 2, 0), guardWallThickness, guardWallHeight, floorWithProjectilesLength - 2 * guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(width / 2 - leftRightDistanceToWalls / 2, -guardWallHeight / 2, -floorWithProjectilesLength / 2 + guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
+        addCollisionObject(new Wall(new Vector(width / 2 - leftRightDistanceToWalls / 2, -guardWallHeight / 2, floorWithProjectilesLength / 2 - guardWallThickness / 2), leftRightDistanceToWalls, guardWallHeight, guardWallThickness, guardWallMaterial));
+
+        this.getChildren().addAll(floorWithProjectiles, floorLeft, floorRight);
+        this.getChildren().addAll(floorWithProjectiles.getProjectiles());
+        addAnimations(floorWithProjectiles);
+        this.getChildren().addAll(collisionObjects.getAll());
+        for (GameObject o : collisionObjects.getAll()) {
+            projectileSweep.add(o, false);
+        }
 
-        this.getChildren().addAll(floorWithProjectiles, floorFront, floorRear, floorLeft, floorRight);
-        this.getChildren().addAll(collisionObjects);
+        scheduleArrivals(PROJECTILES_ARRIVALS, () -> floorWithProjectiles.triggerProjectileOnRandomRow(scheduler));
     }
 
     public RoomWithProjectiles(Vector position, Game game) {
@@ -69,41 +83,62 @@ public class RoomWithProjectiles extends Room {
 
     @Override
     public void update() {
-        if (Game.RANDOM.nextDouble() > 0.986) {
-            floorWithProjectiles.triggerProjectileOnRandomRow();
+        super.update();
+        checkProjectileCollisions();
+    }
+
+    private void checkProjectileCollisions() {    // projectiles colliding with other projectiles, walls and collectibles
+        collidedProjectiles.clear();
+        projectileSweep.sweep(projectileOverlapHandler);
+        // since multiple projectiles may be removed, it is done after sweeping
+        for (Projectile p : collidedProjectiles) {
+            game.removeCollisionObject(p);
+            p.animateDecayAndRemove();  // animateDecayAndRemove() performs setDamaging(false)
         }
-        synchronized (projectilesToAdd) {
-            if (!projectilesToAdd.isEmpty()) {
-                for (Projectile p : projectilesToAdd) {
-                    this.getChildren().add(p);
-                    collisionObjects.add(p);
-                    game.getCollisionObjects().add(p);
-                }
-                projectilesToAdd.clear();
-            }
+    }
+
+    private final SweepAndPrune.OverlapHandler<GameObject> projectileOverlapHandler = (a, b) -> {
+        if (a instanceof Projectile && !collidedProjectiles.contains((Projectile) a)) {
+            collidedProjectiles.add((Projectile) a);
         }
-        synchronized (projectilesToRemove) {
-            if (!projectilesToRemove.isEmpty()) {
-                for (Projectile p : projectilesToRemove) {
-                    this.getChildren().remove(p);
-                    collisionObjects.remove(p);
-                    game.getCollisionObjects().remove(p);
-                }
-                projectilesToRemove.clear();
-            }
+        if (b instanceof Projectile && !collidedProjectiles.contains((Projectile) b)) {
+            collidedProjectiles.add((Projectile) b);
         }
+    };
+
+    public void projectileDecaying(Projectile p) {  // a decaying projectile no longer collides with anything
+        projectileSweep.remove(p);
     }
 
-    public void markForAdding(Projectile p) {
-        synchronized (projectilesToAdd) {
-            projectilesToAdd.add(p);
+    @Override
+    public GameObject populateRandomTile(FloorWithTiles.PopulateOption option, Player player) {
+        GameObject object = super.populateRandomTile(option, player);
+        if (object != null) {
+            projectileSweep.add(object, false);
         }
+        return object;
+    }
+
+    @Override
+    public void removeObject(GameObject object) {
+        super.removeObject(object);
+        projectileSweep.remove(object);
+    }
+
+    public void activateProjectile(Projectile p) {  // the projectiles stay attached to the room, only their collisions are switched on and off
+        addCollisionObject(p);
+        game.addCollisionObject(p);
+        projectileSweep.add(p, true);
     }
 
-    public void markForRemoval(Projectile p) {
-        synchronized (projectilesToRemove) {
-            projectilesToRemove.add(p);
+    public void releaseProjectile(Projectile p) {
+        if (p.isIdle()) {   // already released
+            return;
         }
+        collisionObjects.remove(p);
+        game.removeCollisionObject(p);
+        projectileSweep.remove(p);
+        floorWithProjectiles.releaseProjectile(p);
     }
 
     @Override
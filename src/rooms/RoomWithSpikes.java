@@ -11,6 +11,7 @@ import objects.FloorWithSpikes;
 import objects.FloorWithTiles;
 import objects.Spikes;
 import objects.Wall;
+import simulation.SpikesModel;
 
 public class RoomWithSpikes extends Room {
 
@@ -30,35 +31,30 @@ public class RoomWithSpikes extends Room {
         super(position, game, width, length);
         this.safeZoneLength = safeZoneLength;
 
-        collisionObjects.addAll(createWalls());
+        addCollisionObjects(createWalls());
 
-        floorWithSpikes = new FloorWithSpikes(new Vector(0, Floor.FLOOR_HEIGHT / 2, 0), width, length - 2 * safeZoneLength, tilesX, tilesZ);
+        floorWithSpikes = new FloorWithSpikes(new Vector(0, Floor.FLOOR_HEIGHT / 2, 0), width, length - 2 * safeZoneLength, tilesX, tilesZ, hazards);
         Spikes[][] spikes = floorWithSpikes.getSpikes();
         for (Spikes[] s : spikes) {
-            collisionObjects.addAll(Arrays.asList(s));
+            addCollisionObjects(Arrays.asList(s));
         }
 
-        FloorWithFlowers floor1 = new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, -length / 2 + safeZoneLength / 2), width, safeZoneLength);
-        FloorWithFlowers floor2 = new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, length / 2 - safeZoneLength / 2), width, safeZoneLength);
+        buildLater(() -> this.getChildren().add(new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, -length / 2 + safeZoneLength / 2), width, safeZoneLength)));
+        buildLater(() -> this.getChildren().add(new FloorWithFlowers(new Vector(0, Floor.FLOOR_HEIGHT / 2, length / 2 - safeZoneLength / 2), width, safeZoneLength)));
 
         centralLight = new PointLight();
         centralLight.setTranslateY(-Wall.DEFAULT_HEIGHT * 16);
 
-        this.getChildren().addAll(floorWithSpikes, floor1, floor2, centralLight);
-        this.getChildren().addAll(collisionObjects);
+        this.getChildren().addAll(floorWithSpikes, centralLight);
+        this.getChildren().addAll(collisionObjects.getAll());
+
+        scheduleArrivals(SpikesModel.ARRIVALS, () -> floorWithSpikes.triggerSpikesOnRandomTile(scheduler));
     }
 
     public RoomWithSpikes(Vector position, Game game) {
         this(position, game, DEFAULT_WIDTH, DEFAULT_LENGTH, DEFAULT_SAFE_ZONE_LENGTH, DEFAULT_TILES_X, DEFAULT_TILES_Z);
     }
 
-    @Override
-    public void update() {
-        if (Game.RANDOM.nextDouble() > 0.977) {
-            floorWithSpikes.triggerSpikesOnRandomTile();
-        }
-    }
-
     @Override
     protected Color movingLightColor() {
         return Color.BLUEVIOLET;
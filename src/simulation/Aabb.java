@@ -0,0 +1,94 @@
+package simulation;
+
+/*
+A mutable axis-aligned bounding box. Unlike javafx.geometry.Bounds, it can be updated in place, so bounds that are kept
+and read every frame do not have to be allocated again.
+ */
+public class Aabb {
+
+    private double minX, minY, minZ;
+    private double maxX, maxY, maxZ;
+
+    public Aabb() {
+    }
+
+    public Aabb(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        set(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    public Aabb set(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        return this;
+    }
+
+    public Aabb set(Aabb other) {
+        return set(other.minX, other.minY, other.minZ, other.maxX, other.maxY, other.maxZ);
+    }
+
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return maxX >= this.minX && maxY >= this.minY && maxZ >= this.minZ
+                && minX <= this.maxX && minY <= this.maxY && minZ <= this.maxZ;
+    }
+
+    public boolean intersects(Aabb other) {
+        return intersects(other.minX, other.minY, other.minZ, other.maxX, other.maxY, other.maxZ);
+    }
+
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMinZ() {
+        return minZ;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getMaxZ() {
+        return maxZ;
+    }
+
+    public double getWidth() {
+        return maxX - minX;
+    }
+
+    public double getHeight() {
+        return maxY - minY;
+    }
+
+    public double getDepth() {
+        return maxZ - minZ;
+    }
+
+    public double getCenterX() {
+        return (minX + maxX) / 2;
+    }
+
+    public double getCenterY() {
+        return (minY + maxY) / 2;
+    }
+
+    public double getCenterZ() {
+        return (minZ + maxZ) / 2;
+    }
+
+}
@@ -0,0 +1,154 @@
+package simulation;
+
+public class ArenaModel {
+
+    public static final double TICK_SECONDS = 1. / 60;
+
+    public static final int NUMBER_OF_COINS = 3;
+
+    public static final double DEFAULT_STARTING_TIME = 60;
+    public static final double TEST_MODE_STARTING_TIME = 7;
+    public static final double FINISH_FLASH_TIME = 0.15;
+
+    private static final double FIRST_CLOCK_APPEARANCE_TIME = 10;
+    private static final double SECOND_CLOCK_APPEARANCE_TIME = 5;
+    private static final double FIRST_CLOCK_BONUS_TIME = 30;
+    private static final double SECOND_CLOCK_BONUS_TIME = 15;
+
+    public static final PoissonProcess HEART_ARRIVALS = PoissonProcess.fromProbabilityPerTick(0.002, TICK_SECONDS);
+
+    public enum TimeEvent {
+        NONE, CLOCK_DUE, ROOM_FINISHED;
+    }
+
+    private final int numberOfRooms;
+    private final boolean testMode;
+
+    private int currentRoomIndex = 0;
+    private boolean roomOngoing = false;
+    private boolean theEnd = false;
+    private boolean victory = false;
+
+    private double remainingTime = DEFAULT_STARTING_TIME;
+    private int clocksAppeared = 0;
+    private boolean firstClockTaken = false;
+    private boolean heartExists = false;
+
+    private int points = 0;
+
+    public ArenaModel(int numberOfRooms, boolean testMode) {
+        if (numberOfRooms <= 0) {
+            throw new IllegalArgumentException("The arena must have at least one room");
+        }
+        this.numberOfRooms = numberOfRooms;
+        this.testMode = testMode;
+    }
+
+    public void enterRoom() {
+        roomOngoing = true;
+        remainingTime = testMode ? TEST_MODE_STARTING_TIME : DEFAULT_STARTING_TIME;
+        clocksAppeared = 0;
+        firstClockTaken = false;
+        heartExists = false;
+    }
+
+    public TimeEvent advanceTime(double seconds) {
+        if (!roomOngoing || theEnd) {
+            return TimeEvent.NONE;
+        }
+        remainingTime -= seconds;
+        if ((remainingTime <= FIRST_CLOCK_APPEARANCE_TIME && clocksAppeared == 0)
+                || (remainingTime <= SECOND_CLOCK_APPEARANCE_TIME && clocksAppeared == 1 && firstClockTaken == true)) {
+            ++clocksAppeared;
+            return TimeEvent.CLOCK_DUE;
+        } else if (remainingTime <= 0) {
+            roomOngoing = false;
+            return TimeEvent.ROOM_FINISHED;
+        }
+        return TimeEvent.NONE;
+    }
+
+    public boolean advanceToNextRoom() {   // returns false if the finished room was the last one, in which case the game is won
+        if (currentRoomIndex < numberOfRooms - 1) {
+            ++currentRoomIndex;
+            return true;
+        }
+        end(true);
+        return false;
+    }
+
+    public void end(boolean victory) {
+        theEnd = true;
+        this.victory = victory;
+    }
+
+    public boolean canSpawnHeart(int lives, int maxLives) {
+        return roomOngoing && !heartExists && lives < maxLives;
+    }
+
+    public void heartSpawned() {
+        heartExists = true;
+    }
+
+    public void collectCoin() {
+        ++points;
+    }
+
+    public void collectClock() {
+        if (clocksAppeared == 1) {
+            remainingTime += FIRST_CLOCK_BONUS_TIME;
+            firstClockTaken = true;
+        } else if (clocksAppeared == 2) {
+            remainingTime += SECOND_CLOCK_BONUS_TIME;
+        }
+    }
+
+    public void collectHeart() {
+        heartExists = false;
+    }
+
+    public boolean isFinishFlashDue() {
+        return roomOngoing && remainingTime <= FINISH_FLASH_TIME;
+    }
+
+    public int getNumberOfRooms() {
+        return numberOfRooms;
+    }
+
+    public int getCurrentRoomIndex() {
+        return currentRoomIndex;
+    }
+
+    public boolean isLastRoom() {
+        return currentRoomIndex == numberOfRooms - 1;
+    }
+
+    public boolean isRoomOngoing() {
+        return roomOngoing;
+    }
+
+    public boolean isOver() {
+        return theEnd;
+    }
+
+    public boolean isVictory() {
+        return victory;
+    }
+
+    public double getRemainingTime() {
+        return remainingTime;
+    }
+
+    public int getClocksAppeared() {
+        return clocksAppeared;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public boolean isTestMode() {
+        return testMode;
+    }
+
+}
@@ -0,0 +1,177 @@
+package simulation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/*
+The objects that can be collided with, kept in a spatial hash for area queries. Each object has a handle that stays the
+same while it is in the set, and the moving objects are also kept in a dense array, each knowing its index, so that
+they are updated without a search and removed in constant time. Objects may be added and removed at any time, even
+while the result of a query is being processed, but the changes only take effect when they are applied, at a fixed
+point of each tick, so the set does not change under the code that is using it. Handles are reused, so adding and
+removing the same objects over and over allocates nothing.
+ */
+public class CollisionSet<T> {
+
+    private static final int INITIAL_MOVING_CAPACITY = 16;
+
+    private enum State {
+        ABSENT, ADDING, PRESENT, REMOVING;
+    }
+
+    private static final class Handle<T> {
+
+        private T object;
+        private boolean moving;
+        private int movingIndex = -1;
+        private State state = State.ABSENT;
+        private boolean queued = false;
+
+    }
+
+    private final SpatialHash<T> spatialHash;
+    private final SweepAndPrune.BoundsProvider<T> boundsProvider;
+
+    private final IdentityHashMap<T, Handle<T>> handles = new IdentityHashMap<>();
+    private final ArrayDeque<Handle<T>> freeHandles = new ArrayDeque<>();
+    private final ArrayList<Handle<T>> pending = new ArrayList<>();
+
+    private Handle<?>[] moving = new Handle<?>[INITIAL_MOVING_CAPACITY];
+    private int movingCount = 0;
+
+    public CollisionSet(double cellSize, SweepAndPrune.BoundsProvider<T> boundsProvider) {  // the XZ extents of the bounds are registered
+        this.spatialHash = new SpatialHash<>(cellSize);
+        this.boundsProvider = boundsProvider;
+    }
+
+    public void add(T object, boolean isMoving) {  // takes effect when the changes are applied
+        Handle<T> handle = handles.get(object);
+        if (handle == null) {
+            handle = freeHandles.poll();
+            if (handle == null) {
+                handle = new Handle<>();
+            }
+            handle.object = object;
+            handles.put(object, handle);
+        }
+        handle.moving = isMoving;
+        handle.state = handle.state == State.REMOVING || handle.state == State.PRESENT ? State.PRESENT : State.ADDING;
+        enqueue(handle);
+    }
+
+    public void remove(T object) {  // takes effect when the changes are applied
+        Handle<T> handle = handles.get(object);
+        if (handle == null) {
+            return;
+        }
+        handle.state = handle.state == State.PRESENT || handle.state == State.REMOVING ? State.REMOVING : State.ABSENT;
+        enqueue(handle);
+    }
+
+    private void enqueue(Handle<T> handle) {
+        if (!handle.queued) {
+            handle.queued = true;
+            pending.add(handle);
+        }
+    }
+
+    public void applyChanges() {
+        for (int i = 0; i < pending.size(); i++) {
+            Handle<T> handle = pending.get(i);
+            handle.queued = false;
+            switch (handle.state) {
+                case ADDING:
+                    handle.state = State.PRESENT;
+                    insert(handle);
+                    break;
+                case PRESENT:   // added again after it was removed, possibly somewhere else and with a different mobility
+                    insert(handle);
+                    break;
+                case REMOVING:
+                    spatialHash.remove(handle.object);
+                    release(handle);
+                    break;
+                case ABSENT:    // added and removed before it was ever applied
+                    release(handle);
+                    break;
+            }
+        }
+        pending.clear();
+    }
+
+    private void insert(Handle<T> handle) {    // or updates the extents of an object that is already registered
+        final Aabb bounds = boundsProvider.boundsOf(handle.object);
+        spatialHash.insert(handle.object, bounds.getMinX(), bounds.getMinZ(), bounds.getMaxX(), bounds.getMaxZ());
+        setMoving(handle, handle.moving);
+    }
+
+    private void release(Handle<T> handle) {
+        setMoving(handle, false);
+        handles.remove(handle.object);
+        handle.object = null;
+        handle.state = State.ABSENT;
+        freeHandles.push(handle);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setMoving(Handle<T> handle, boolean isMoving) {
+        if (isMoving && handle.movingIndex < 0) {
+            if (movingCount == moving.length) {
+                moving = Arrays.copyOf(moving, 2 * moving.length);
+            }
+            handle.movingIndex = movingCount;
+            moving[movingCount++] = handle;
+        } else if (!isMoving && handle.movingIndex >= 0) {   // the last moving object takes its place
+            final Handle<T> last = (Handle<T>) moving[--movingCount];
+            moving[handle.movingIndex] = last;
+            last.movingIndex = handle.movingIndex;
+            moving[movingCount] = null;
+            handle.movingIndex = -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void updateMoving() {    // registers the current bounds of the moving objects
+        for (int i = 0; i < movingCount; i++) {
+            final T object = ((Handle<T>) moving[i]).object;
+            final Aabb bounds = boundsProvider.boundsOf(object);
+            spatialHash.update(object, bounds.getMinX(), bounds.getMinZ(), bounds.getMaxX(), bounds.getMaxZ());
+        }
+    }
+
+    public void query(Aabb area, List<T> result) {  // the result is cleared first and may be reused between queries
+        spatialHash.query(area.getMinX(), area.getMinZ(), area.getMaxX(), area.getMaxZ(), result);
+    }
+
+    public boolean contains(T object) {   // whether it will be in the set once the changes are applied
+        Handle<T> handle = handles.get(object);
+        return handle != null && (handle.state == State.ADDING || handle.state == State.PRESENT);
+    }
+
+    public int size() {   // of the applied set
+        return spatialHash.size();
+    }
+
+    public int getMovingCount() {
+        return movingCount;
+    }
+
+    public void clear() {
+        for (Handle<T> handle : handles.values()) {
+            handle.object = null;
+            handle.movingIndex = -1;
+            handle.state = State.ABSENT;
+            handle.queued = false;
+            freeHandles.push(handle);
+        }
+        handles.clear();
+        pending.clear();
+        Arrays.fill(moving, 0, movingCount, null);
+        movingCount = 0;
+        spatialHash.clear();
+    }
+
+}
@@ -0,0 +1,259 @@
+package simulation;
+
+import java.util.Arrays;
+
+/*
+The state of the hazards of one room, kept in primitive arrays with one element per entity: position, velocity, phase,
+flags and collision shape. The entities are packed at the start of the arrays, so the systems below go through them
+linearly; removing an entity moves the last one into its place. Entities are referred to by handles, which stay the
+same while the entity exists, and are mapped to their current position in the arrays. Positions are relative to the
+origin of the store, which is where the room is, and the shape is relative to the position.
+ */
+public class EntityStore {
+
+    public interface Owner {
+
+        void sync(); // called after a step that moved the entity or advanced its phase
+
+    }
+
+    public static final int NO_ENTITY = -1;
+
+    private static final int DAMAGING = 1;
+    private static final int MOVING = 1 << 1;
+    private static final int TIMED = 1 << 2;    // the phase advances with time
+    private static final int SHAPED = 1 << 3;   // has a collision shape
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final double originX, originY, originZ;
+
+    private double[] x, y, z;
+    private double[] vx, vy, vz;
+    private double[] phase;
+    private double[] minX, minY, minZ, maxX, maxY, maxZ;
+    private int[] flags;
+    private Owner[] owners;
+    private int[] handleOf;
+
+    private int[] denseOf = new int[INITIAL_CAPACITY];     // position of each handle in the arrays, or NO_ENTITY
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int handleCount = 0;
+
+    private int count = 0;
+
+    public EntityStore(double originX, double originY, double originZ) {
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        x = copy(x, capacity);
+        y = copy(y, capacity);
+        z = copy(z, capacity);
+        vx = copy(vx, capacity);
+        vy = copy(vy, capacity);
+        vz = copy(vz, capacity);
+        phase = copy(phase, capacity);
+        minX = copy(minX, capacity);
+        minY = copy(minY, capacity);
+        minZ = copy(minZ, capacity);
+        maxX = copy(maxX, capacity);
+        maxY = copy(maxY, capacity);
+        maxZ = copy(maxZ, capacity);
+        flags = flags == null ? new int[capacity] : Arrays.copyOf(flags, capacity);
+        handleOf = handleOf == null ? new int[capacity] : Arrays.copyOf(handleOf, capacity);
+        owners = owners == null ? new Owner[capacity] : Arrays.copyOf(owners, capacity);
+    }
+
+    private static double[] copy(double[] array, int capacity) {
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    public int add(Owner owner, double x, double y, double z) {
+        if (count == flags.length) {
+            allocate(2 * flags.length);
+        }
+        final int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (handleCount == denseOf.length) {
+                denseOf = Arrays.copyOf(denseOf, 2 * denseOf.length);
+            }
+            handle = handleCount++;
+        }
+        final int i = count++;
+        denseOf[handle] = i;
+        handleOf[i] = handle;
+        owners[i] = owner;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+        vx[i] = vy[i] = vz[i] = 0;
+        phase[i] = 0;
+        minX[i] = minY[i] = minZ[i] = maxX[i] = maxY[i] = maxZ[i] = 0;
+        flags[i] = DAMAGING;
+        return handle;
+    }
+
+    public void remove(int handle) {
+        final int i = indexOf(handle);
+        final int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            z[i] = z[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            vz[i] = vz[last];
+            phase[i] = phase[last];
+            minX[i] = minX[last];
+            minY[i] = minY[last];
+            minZ[i] = minZ[last];
+            maxX[i] = maxX[last];
+            maxY[i] = maxY[last];
+            maxZ[i] = maxZ[last];
+            flags[i] = flags[last];
+            owners[i] = owners[last];
+            handleOf[i] = handleOf[last];
+            denseOf[handleOf[i]] = i;
+        }
+        owners[last] = null;
+        denseOf[handle] = NO_ENTITY;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, 2 * freeHandles.length);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+
+    private int indexOf(int handle) {
+        if (handle < 0 || handle >= handleCount || denseOf[handle] == NO_ENTITY) {
+            throw new IllegalArgumentException("No entity with handle " + handle);
+        }
+        return denseOf[handle];
+    }
+
+    /*
+    Advances the phases of the timed entities and the positions of the moving ones, then lets the owners of the entities
+    that changed bring their nodes up to date. An owner may change any entity, but should not add or remove any.
+     */
+    public void update(double seconds) {
+        for (int i = 0; i < count; i++) {
+            final int f = flags[i];
+            if ((f & TIMED) != 0) {
+                phase[i] += seconds;
+            }
+            if ((f & MOVING) != 0) {
+                x[i] += vx[i] * seconds;
+                y[i] += vy[i] * seconds;
+                z[i] += vz[i] * seconds;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & (TIMED | MOVING)) != 0) {
+                owners[i].sync();
+            }
+        }
+    }
+
+    public void halt() {    // stops every movement and phase, e.g. when the room is finished
+        for (int i = 0; i < count; i++) {
+            flags[i] &= ~(TIMED | MOVING);
+        }
+    }
+
+    public Aabb boundsOf(int handle, Aabb result) {   // in world coordinates
+        final int i = indexOf(handle);
+        final double wx = originX + x[i], wy = originY + y[i], wz = originZ + z[i];
+        return result.set(wx + minX[i], wy + minY[i], wz + minZ[i], wx + maxX[i], wy + maxY[i], wz + maxZ[i]);
+    }
+
+    public void setShape(int handle, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        final int i = indexOf(handle);
+        this.minX[i] = minX;
+        this.minY[i] = minY;
+        this.minZ[i] = minZ;
+        this.maxX[i] = maxX;
+        this.maxY[i] = maxY;
+        this.maxZ[i] = maxZ;
+        flags[i] |= SHAPED;
+    }
+
+    public boolean hasShape(int handle) {
+        return (flags[indexOf(handle)] & SHAPED) != 0;
+    }
+
+    public void setPosition(int handle, double x, double y, double z) {
+        final int i = indexOf(handle);
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+    }
+
+    public double getX(int handle) {
+        return x[indexOf(handle)];
+    }
+
+    public double getY(int handle) {
+        return y[indexOf(handle)];
+    }
+
+    public double getZ(int handle) {
+        return z[indexOf(handle)];
+    }
+
+    public void setVelocity(int handle, double vx, double vy, double vz) {  // per second; a zero velocity stops the entity
+        final int i = indexOf(handle);
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.vz[i] = vz;
+        setFlag(i, MOVING, vx != 0 || vy != 0 || vz != 0);
+    }
+
+    public boolean isMoving(int handle) {
+        return (flags[indexOf(handle)] & MOVING) != 0;
+    }
+
+    public void startPhase(int handle) {   // the phase starts from zero and advances until stopped
+        final int i = indexOf(handle);
+        phase[i] = 0;
+        flags[i] |= TIMED;
+    }
+
+    public void stopPhase(int handle) {
+        setFlag(indexOf(handle), TIMED, false);
+    }
+
+    public double getPhase(int handle) {   // seconds since the phase was started
+        return phase[indexOf(handle)];
+    }
+
+    public boolean isTimed(int handle) {
+        return (flags[indexOf(handle)] & TIMED) != 0;
+    }
+
+    public boolean isDamaging(int handle) {
+        return (flags[indexOf(handle)] & DAMAGING) != 0;
+    }
+
+    public void setDamaging(int handle, boolean damaging) {
+        setFlag(indexOf(handle), DAMAGING, damaging);
+    }
+
+    private void setFlag(int i, int flag, boolean value) {
+        if (value) {
+            flags[i] |= flag;
+        } else {
+            flags[i] &= ~flag;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+}
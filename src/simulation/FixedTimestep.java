@@ -0,0 +1,60 @@
+package simulation;
+
+/*
+Converts the timestamps of the pulses into a whole number of fixed simulation steps. Time that does not add up to a
+whole step is carried over to the next pulse, and the fraction of a step that remains can be used to interpolate
+between the last two simulation states. Frame times are clamped, so a stalled frame is followed by a bounded number of
+steps instead of a spiral of catching up.
+ */
+public class FixedTimestep {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long stepNanos;
+    private final long maxFrameNanos;
+
+    private long previousTime;
+    private boolean started = false;
+    private long accumulator = 0;
+
+    public FixedTimestep(double stepSeconds, double maxFrameSeconds) {
+        if (stepSeconds <= 0 || maxFrameSeconds < stepSeconds) {
+            throw new IllegalArgumentException("The step must be positive and no longer than the maximum frame time");
+        }
+        this.stepNanos = (long) (stepSeconds * NANOS_PER_SECOND);
+        this.maxFrameNanos = (long) (maxFrameSeconds * NANOS_PER_SECOND);
+    }
+
+    public int advance(long now) {  // returns the number of steps to simulate for a pulse at the given time, in nanoseconds
+        if (!started) {
+            started = true;
+            previousTime = now;
+            return 0;
+        }
+        long frameNanos = now - previousTime;
+        previousTime = now;
+        if (frameNanos < 0) {
+            frameNanos = 0;
+        } else if (frameNanos > maxFrameNanos) {
+            frameNanos = maxFrameNanos;
+        }
+        accumulator += frameNanos;
+        final int steps = (int) (accumulator / stepNanos);
+        accumulator -= steps * stepNanos;
+        return steps;
+    }
+
+    public double getAlpha() {  // how far the rendered frame is between the previous and the current simulation state, from 0 to 1
+        return (double) accumulator / stepNanos;
+    }
+
+    public void reset() {   // the next pulse only sets the starting time, e.g. after the game is paused or restarted
+        started = false;
+        accumulator = 0;
+    }
+
+    public double getStepSeconds() {
+        return (double) stepNanos / NANOS_PER_SECOND;
+    }
+
+}
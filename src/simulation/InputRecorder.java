@@ -0,0 +1,98 @@
+package simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+Writes the input of a game, tick by tick, to a file that InputReplay can play back. The file starts with a header that
+holds the seed of the random streams and whether the game is in test mode, followed by the events, each one the number
+of ticks since the previous event as a variable-length integer, the type of the event and its arguments: the control
+for a key, two floats for a mouse move and nothing for a pause or resume. A type of zero ends the events.
+
+The file is written through a memory-mapped buffer, so recording an event is a few stores into memory, and the pages
+are written out by the operating system even if the game does not exit normally. The mapping grows as needed, and the
+file keeps its mapped length: the zeros after the last event read as the end of the events. It is not truncated when
+closed, since some platforms, like Windows, do not allow truncating a file while it is mapped, and the mapping is
+only released when the buffer is collected.
+ */
+public class InputRecorder implements Closeable {
+
+    static final int MAGIC = 0x41524E41;   // "ARNA"
+    static final byte VERSION = 1;
+    static final byte TEST_MODE = 1;        // flag in the header
+    static final byte END = 0;
+
+    private static final int INITIAL_MAPPED_BYTES = 64 * 1024;
+    private static final int MAX_EVENT_BYTES = 10 + 1 + 8;   // the longest tick count, the type and a mouse move
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long previousTick = 0;
+
+    public InputRecorder(Path path, long seed, boolean testMode) throws IOException {    // replaces the file if it exists
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_MAPPED_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(testMode ? TEST_MODE : 0);
+        buffer.putLong(seed);
+    }
+
+    public void write(long tick, PlayerInput input) throws IOException {  // the events applied at the start of the tick
+        if (tick < previousTick) {
+            throw new IllegalArgumentException("Tick " + tick + " is before the previous recorded tick " + previousTick);
+        }
+        for (int i = 0; i < input.size(); i++) {
+            if (buffer.remaining() < MAX_EVENT_BYTES) {
+                remap(2L * buffer.capacity());
+            }
+            putTicks(tick - previousTick);
+            previousTick = tick;
+            final byte type = input.getType(i);
+            buffer.put(type);
+            switch (type) {
+                case PlayerInput.PRESS:
+                case PlayerInput.RELEASE:
+                    buffer.put((byte) input.getControl(i).ordinal());
+                    break;
+                case PlayerInput.LOOK:
+                    buffer.putFloat(input.getDeltaX(i));
+                    buffer.putFloat(input.getDeltaY(i));
+                    break;
+            }
+        }
+    }
+
+    private void putTicks(long ticks) {  // seven bits at a time, the highest bit set on all but the last byte
+        while ((ticks & ~0x7FL) != 0) {
+            buffer.put((byte) ((ticks & 0x7F) | 0x80));
+            ticks >>>= 7;
+        }
+        buffer.put((byte) ticks);
+    }
+
+    private void remap(long size) throws IOException {   // mapping past the end of the file extends it
+        final int position = buffer.position();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.position(position);
+    }
+
+    public int getLength() {    // in bytes, with the header
+        return buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+Plays back a file written by InputRecorder. The file is mapped into memory, and every tick the events recorded for that
+tick are added to the input of the player, in place of the input from the scene. With the random streams seeded as
+recorded, the game then makes the same choices and the player the same moves as in the recorded run, at whatever speed
+the ticks are run. This holds because everything the player can collide with changes only with the ticks: the hazards
+through the entity store, the spin of the collectibles through their room, and the gates when they are triggered; the
+animations driven by the frames only move what is drawn.
+ */
+public class InputReplay {
+
+    private static final PlayerModel.Control[] CONTROLS = PlayerModel.Control.values();
+    private static final int HEADER_BYTES = 4 + 1 + 1 + 8;
+
+    private final MappedByteBuffer buffer;
+    private final long seed;
+    private final boolean testMode;
+
+    private long nextTick;      // of the next event
+    private byte nextType;      // END once the events run out
+
+    public InputReplay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {  // the mapping outlives the channel
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != InputRecorder.MAGIC) {
+            throw new IllegalArgumentException(path + " is not an input recording");
+        }
+        final byte version = buffer.get();
+        if (version != InputRecorder.VERSION) {
+            throw new IllegalArgumentException(path + " is an input recording of version " + version + ", expected " + InputRecorder.VERSION);
+        }
+        testMode = (buffer.get() & InputRecorder.TEST_MODE) != 0;
+        seed = buffer.getLong();
+        rewind();
+    }
+
+    public void rewind() {  // back to the first event, e.g. when the game is restarted
+        buffer.position(HEADER_BYTES);
+        nextTick = 0;
+        readNextEvent();
+    }
+
+    public void read(long tick, PlayerInput input) {   // adds the events of the tick, and of any earlier tick not read yet
+        while (nextType != InputRecorder.END && nextTick <= tick) {
+            try {
+                switch (nextType) {
+                    case PlayerInput.PRESS:
+                    case PlayerInput.RELEASE:
+                        input.control(control(buffer.get()), nextType == PlayerInput.PRESS);
+                        break;
+                    case PlayerInput.LOOK:
+                        input.look(buffer.getFloat(), buffer.getFloat());
+                        break;
+                    case PlayerInput.PAUSE:
+                        input.pause();
+                        break;
+                    case PlayerInput.RESUME:
+                        input.resume();
+                        break;
+                    default:
+                        throw corrupt();
+                }
+            } catch (BufferUnderflowException ex) {
+                throw corrupt();
+            }
+            readNextEvent();
+        }
+    }
+
+    private void readNextEvent() {
+        if (!buffer.hasRemaining()) {
+            nextType = InputRecorder.END;
+            return;
+        }
+        long ticks = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (!buffer.hasRemaining() || shift > 63) {
+                throw corrupt();
+            }
+            b = buffer.get();
+            ticks |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        nextTick += ticks;
+        nextType = buffer.hasRemaining() ? buffer.get() : InputRecorder.END;
+    }
+
+    private PlayerModel.Control control(byte ordinal) {
+        if (ordinal < 0 || ordinal >= CONTROLS.length) {
+            throw corrupt();
+        }
+        return CONTROLS[ordinal];
+    }
+
+    private IllegalArgumentException corrupt() {
+        return new IllegalArgumentException("The input recording is corrupt at byte " + buffer.position());
+    }
+
+    public boolean isFinished() {
+        return nextType == InputRecorder.END;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isTestMode() {
+        return testMode;
+    }
+
+}
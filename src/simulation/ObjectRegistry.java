@@ -0,0 +1,120 @@
+package simulation;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/*
+Objects indexed by their kind. The objects of each kind are kept in a dense array, and the kind and position of every
+object in a map, so an object is added or removed in constant time (the last object of its kind takes its place) and
+the objects of one kind are listed in time proportional to their number, whatever the number of other objects.
+ */
+public class ObjectRegistry<K extends Enum<K>, T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Slot {
+
+        final int kind;
+        int index;
+
+        Slot(int kind, int index) {
+            this.kind = kind;
+            this.index = index;
+        }
+    }
+
+    private final K[] kinds;
+    private final Object[][] objects;
+    private final int[] counts;
+    private final IdentityHashMap<T, Slot> slots = new IdentityHashMap<>();
+
+    public ObjectRegistry(Class<K> kindClass) {
+        kinds = kindClass.getEnumConstants();
+        objects = new Object[kinds.length][INITIAL_CAPACITY];
+        counts = new int[kinds.length];
+    }
+
+    public void add(K kind, T object) {
+        if (slots.containsKey(object)) {
+            throw new IllegalArgumentException("The object is already registered");
+        }
+        final int k = kind.ordinal();
+        if (counts[k] == objects[k].length) {
+            objects[k] = Arrays.copyOf(objects[k], 2 * objects[k].length);
+        }
+        objects[k][counts[k]] = object;
+        slots.put(object, new Slot(k, counts[k]++));
+    }
+
+    public void addAll(K kind, Collection<? extends T> objects) {
+        for (T object : objects) {
+            add(kind, object);
+        }
+    }
+
+    public boolean remove(T object) {
+        final Slot slot = slots.remove(object);
+        if (slot == null) {
+            return false;
+        }
+        final Object[] ofKind = objects[slot.kind];
+        final int last = --counts[slot.kind];
+        if (slot.index != last) {
+            @SuppressWarnings("unchecked")
+            final T moved = (T) ofKind[last];
+            ofKind[slot.index] = moved;
+            slots.get(moved).index = slot.index;
+        }
+        ofKind[last] = null;
+        return true;
+    }
+
+    public boolean contains(T object) {
+        return slots.containsKey(object);
+    }
+
+    public K kindOf(T object) {   // null if the object is not registered
+        final Slot slot = slots.get(object);
+        return slot == null ? null : kinds[slot.kind];
+    }
+
+    public int size(K kind) {
+        return counts[kind.ordinal()];
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public List<T> get(K kind) {    // a view, which changes with the registry
+        final int k = kind.ordinal();
+        return new AbstractList<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T get(int index) {
+                if (index < 0 || index >= counts[k]) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return (T) objects[k][index];
+            }
+
+            @Override
+            public int size() {
+                return counts[k];
+            }
+        };
+    }
+
+    public List<T> getAll() {   // a copy
+        List<T> all = new ArrayList<>(slots.size());
+        for (K kind : kinds) {
+            all.addAll(get(kind));
+        }
+        return all;
+    }
+
+}
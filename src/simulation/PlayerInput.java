@@ -0,0 +1,109 @@
+package simulation;
+
+import java.util.Arrays;
+
+/*
+The input of the player that arrived since the previous tick. The events are collected as they come from the scene and
+applied together at the start of the next tick, so the state of the player only changes at tick boundaries, and a run
+can be reproduced from the events and the ticks they were applied at. Consecutive mouse moves are added together into
+one event. The events are kept in primitive arrays, so collecting them allocates nothing once the arrays have grown.
+ */
+public class PlayerInput {
+
+    public static final byte PRESS = 1;
+    public static final byte RELEASE = 2;
+    public static final byte LOOK = 3;
+    public static final byte PAUSE = 4;
+    public static final byte RESUME = 5;
+
+    private static final PlayerModel.Control[] CONTROLS = PlayerModel.Control.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] controls = new int[INITIAL_CAPACITY];
+    private float[] deltaX = new float[INITIAL_CAPACITY];
+    private float[] deltaY = new float[INITIAL_CAPACITY];
+    private int count = 0;
+
+    public void control(PlayerModel.Control control, boolean pressed) {
+        final int i = append(pressed ? PRESS : RELEASE);
+        controls[i] = control.ordinal();
+    }
+
+    public void look(float dx, float dy) {
+        if (count > 0 && types[count - 1] == LOOK) {
+            deltaX[count - 1] += dx;
+            deltaY[count - 1] += dy;
+            return;
+        }
+        final int i = append(LOOK);
+        deltaX[i] = dx;
+        deltaY[i] = dy;
+    }
+
+    public void pause() {
+        append(PAUSE);
+    }
+
+    public void resume() {
+        append(RESUME);
+    }
+
+    private int append(byte type) {
+        if (count == types.length) {
+            types = Arrays.copyOf(types, 2 * types.length);
+            controls = Arrays.copyOf(controls, 2 * controls.length);
+            deltaX = Arrays.copyOf(deltaX, 2 * deltaX.length);
+            deltaY = Arrays.copyOf(deltaY, 2 * deltaY.length);
+        }
+        types[count] = type;
+        return count++;
+    }
+
+    public boolean applyTo(PlayerModel model) { // in the order of arrival; returns whether the player looked around
+        boolean looked = false;
+        for (int i = 0; i < count; i++) {
+            switch (types[i]) {
+                case PRESS:
+                case RELEASE:
+                    model.setControl(CONTROLS[controls[i]], types[i] == PRESS);
+                    break;
+                case LOOK:
+                    model.look(deltaX[i], deltaY[i]);
+                    looked = true;
+                    break;
+                case PAUSE:     // the keys released while paused are not seen by the player
+                    model.releaseAllKeys();
+                    break;
+                case RESUME:
+                    break;
+            }
+        }
+        return looked;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte getType(int i) {
+        return types[i];
+    }
+
+    public PlayerModel.Control getControl(int i) {  // of a PRESS or RELEASE
+        return CONTROLS[controls[i]];
+    }
+
+    public float getDeltaX(int i) { // of a LOOK
+        return deltaX[i];
+    }
+
+    public float getDeltaY(int i) {
+        return deltaY[i];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+}
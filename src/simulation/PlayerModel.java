@@ -0,0 +1,317 @@
+package simulation;
+
+import concepts.Vector;
+
+public class PlayerModel {
+
+    public static final double HEIGHT = 190;
+    public static final double MOUSE_SENSITIVITY = 0.05;
+
+    public static final double WALK_SPEED = 12;
+    public static final double TEST_MODE_WALK_SPEED = 40;
+    public static final double SPRINT_FACTOR = 1.9;
+    public static final double SPRINT_SPEED = WALK_SPEED * SPRINT_FACTOR;
+    public static final double TEST_MODE_SPRINT_SPEED = TEST_MODE_WALK_SPEED * SPRINT_FACTOR;
+    // Values divided by square root of 2 are used in calculations.
+    private static final double WALK_SPEED_DIVIDED_BY_SQRT2;
+    private static final double TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2;
+    private static final double SPRINT_SPEED_DIVIDED_BY_SQRT2;
+    private static final double TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2;
+
+    static {
+        final double sqrt2 = Math.sqrt(2);
+        WALK_SPEED_DIVIDED_BY_SQRT2 = WALK_SPEED / sqrt2;
+        TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2 = TEST_MODE_WALK_SPEED / sqrt2;
+        SPRINT_SPEED_DIVIDED_BY_SQRT2 = SPRINT_SPEED / sqrt2;
+        TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2 = TEST_MODE_SPRINT_SPEED / sqrt2;
+    }
+
+    public static final int MAX_LIVES = 2;
+
+    public static final int MAX_STAMINA = 60 * 5;
+    public static final int SPRINT_STAMINA_THRESHOLD = (int) (MAX_STAMINA / 5.);
+    private static final int STAMINA_REGENERATION_CYCLES = 4;
+
+    public enum Control {   // the keys that move the player
+        FORWARD, BACKWARD, LEFT, RIGHT, SPRINT;
+    }
+
+    private enum LongitudinalStates {
+        FORWARD, BACKWARD, STALL;
+    }
+
+    private enum LateralStates {
+        LEFT, RIGHT, STALL;
+    }
+
+    private LongitudinalStates longitudinalState = LongitudinalStates.STALL;
+    private LateralStates lateralState = LateralStates.STALL;
+
+    private double longitudinalVelocity = 0;
+    private double lateralVelocity = 0;
+
+    private double x;
+    private double z;
+    private double previousX;   // the position before the latest step, used for interpolation between steps
+    private double previousZ;
+    private final Vector lastValidPosition;    // the position before the latest step that was not rejected by collisions
+
+    private double horizontalAngle = 0;    // deviation from Z axis, in degrees
+    private double verticalAngle = 0;
+
+    private int lives = MAX_LIVES;
+
+    private int stamina = MAX_STAMINA;
+    private boolean sprinting = false;
+    private boolean sprintKeyPressed = false;
+    private int staminaRegenerationCycleCounter = 0;
+    private boolean staminaRegeneratingBelowCritical = false;
+
+    private final boolean testMode;
+
+    public PlayerModel(Vector position, boolean testMode) {
+        this.lastValidPosition = position;
+        this.x = this.previousX = position.getX();
+        this.z = this.previousZ = position.getZ();
+        this.testMode = testMode;
+    }
+
+    //================================================================================
+    // Input
+    //================================================================================
+    public void moveForward(boolean pressed) {
+        if (pressed) {
+            longitudinalState = LongitudinalStates.FORWARD;
+        } else if (longitudinalState != LongitudinalStates.BACKWARD) {
+            longitudinalState = LongitudinalStates.STALL;
+        }
+        setVelocity();
+    }
+
+    public void moveBackward(boolean pressed) {
+        if (pressed) {
+            longitudinalState = LongitudinalStates.BACKWARD;
+        } else if (longitudinalState != LongitudinalStates.FORWARD) {
+            longitudinalState = LongitudinalStates.STALL;
+        }
+        setVelocity();
+    }
+
+    public void moveLeft(boolean pressed) {
+        if (pressed) {
+            lateralState = LateralStates.LEFT;
+        } else if (lateralState != LateralStates.RIGHT) {
+            lateralState = LateralStates.STALL;
+        }
+        setVelocity();
+    }
+
+    public void moveRight(boolean pressed) {
+        if (pressed) {
+            lateralState = LateralStates.RIGHT;
+        } else if (lateralState != LateralStates.LEFT) {
+            lateralState = LateralStates.STALL;
+        }
+        setVelocity();
+    }
+
+    public void setSprintKeyPressed(boolean pressed) {
+        sprintKeyPressed = pressed;
+    }
+
+    public void setControl(Control control, boolean pressed) {
+        switch (control) {
+            case FORWARD:
+                moveForward(pressed);
+                break;
+            case BACKWARD:
+                moveBackward(pressed);
+                break;
+            case LEFT:
+                moveLeft(pressed);
+                break;
+            case RIGHT:
+                moveRight(pressed);
+                break;
+            case SPRINT:
+                setSprintKeyPressed(pressed);
+                break;
+        }
+    }
+
+    public void releaseAllKeys() {  // used when the game is paused
+        longitudinalState = LongitudinalStates.STALL;
+        lateralState = LateralStates.STALL;
+        sprintKeyPressed = false;
+        setVelocity();
+    }
+
+    public void look(double horizontalMouseMove, double verticalMouseMove) {
+        horizontalAngle += horizontalMouseMove * MOUSE_SENSITIVITY;
+        verticalAngle -= verticalMouseMove * MOUSE_SENSITIVITY;
+        if (verticalAngle > 90.0) {
+            verticalAngle = 90.0;
+        } else if (verticalAngle < -90.0) {
+            verticalAngle = -90.0;
+        }
+    }
+
+    //================================================================================
+    // Simulation
+    //================================================================================
+    private void setVelocity() {
+        int longitudinal = 0;
+        int lateral = 0;
+
+        switch (longitudinalState) {
+            case STALL:
+                longitudinal = 0;
+                break;
+            case FORWARD:
+                longitudinal = 1;
+                break;
+            case BACKWARD:
+                longitudinal = -1;
+                break;
+            default:
+                break;
+        }
+
+        switch (lateralState) {
+            case STALL:
+                lateral = 0;
+                break;
+            case RIGHT:
+                lateral = 1;
+                break;
+            case LEFT:
+                lateral = -1;
+                break;
+            default:
+                break;
+        }
+
+        double speed;
+        if (longitudinal != 0 && lateral != 0) {
+            if (!testMode) {
+                speed = sprinting ? SPRINT_SPEED_DIVIDED_BY_SQRT2 : WALK_SPEED_DIVIDED_BY_SQRT2;
+            } else {
+                speed = sprinting ? TEST_MODE_SPRINT_SPEED_DIVIDED_BY_SQRT2 : TEST_MODE_WALK_SPEED_DIVIDED_BY_SQRT2;
+            }
+        } else {
+            if (!testMode) {
+                speed = sprinting ? SPRINT_SPEED : WALK_SPEED;
+            } else {
+                speed = sprinting ? TEST_MODE_SPRINT_SPEED : TEST_MODE_WALK_SPEED;
+            }
+        }
+        longitudinalVelocity = speed * longitudinal;
+        lateralVelocity = speed * lateral;
+    }
+
+    public void step() {
+        previousX = x;
+        previousZ = z;
+
+        double horizontalAngleRadians = horizontalAngle * Math.PI / 180;
+
+        z += Math.cos(horizontalAngleRadians) * longitudinalVelocity;
+        x += Math.sin(horizontalAngleRadians) * longitudinalVelocity;
+
+        x += Math.cos(horizontalAngleRadians) * lateralVelocity;
+        z -= Math.sin(horizontalAngleRadians) * lateralVelocity;
+
+        regulateSprinting();
+    }
+
+    private void regulateSprinting() {
+        if (sprintKeyPressed && stamina > 0 && !staminaRegeneratingBelowCritical && (longitudinalVelocity != 0 || lateralVelocity != 0)) {
+            if (sprinting) {    // already sprinting
+                --stamina;
+            } else {    // start sprinting
+                sprinting = true;
+                staminaRegenerationCycleCounter = 0;
+                staminaRegeneratingBelowCritical = false;
+                setVelocity();
+            }
+        } else {
+            if (sprinting) {
+                sprinting = false;
+                setVelocity();
+            }
+            if (stamina < MAX_STAMINA) {
+                staminaRegeneratingBelowCritical = stamina < SPRINT_STAMINA_THRESHOLD;
+                if (++staminaRegenerationCycleCounter >= STAMINA_REGENERATION_CYCLES) {   // >= or ==, possible issues ?
+                    ++stamina;
+                    staminaRegenerationCycleCounter = 0;
+                    if (sprintKeyPressed && !staminaRegeneratingBelowCritical && stamina >= SPRINT_STAMINA_THRESHOLD) {  // in case the player holds the sprint key pressed
+                        sprinting = true;
+                        setVelocity();
+                    }
+                }
+            }
+        }
+    }
+
+    public void revertToLastValidPosition() {
+        x = lastValidPosition.getX();
+        z = lastValidPosition.getZ();
+    }
+
+    public void commitPosition() {
+        lastValidPosition.setX(x);
+        lastValidPosition.setZ(z);
+    }
+
+    //================================================================================
+    // State
+    //================================================================================
+    public double getX() {
+        return x;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public double getInterpolatedX(double alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    public double getInterpolatedZ(double alpha) {
+        return previousZ + (z - previousZ) * alpha;
+    }
+
+    public Vector getLastValidPosition() {
+        return lastValidPosition;
+    }
+
+    public double getHorizontalAngle() {
+        return horizontalAngle;
+    }
+
+    public double getVerticalAngle() {
+        return verticalAngle;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
+    public int getStamina() {
+        return stamina;
+    }
+
+    public void setStamina(int stamina) {
+        this.stamina = stamina;
+    }
+
+    public boolean isTestMode() {
+        return testMode;
+    }
+
+}
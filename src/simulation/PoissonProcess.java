@@ -0,0 +1,35 @@
+package simulation;
+
+import java.util.Random;
+
+/*
+Random events that happen independently of each other at a constant average rate. The time until the next event is
+exponentially distributed, so the events can be scheduled ahead instead of rolling a chance on every tick.
+ */
+public class PoissonProcess {
+
+    private final double ratePerSecond;
+
+    public PoissonProcess(double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("The rate must be a positive number");
+        }
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public static PoissonProcess fromProbabilityPerTick(double probability, double tickSeconds) {   // same odds as rolling the given chance once per tick
+        if (probability <= 0 || probability >= 1) {
+            throw new IllegalArgumentException("The probability must be between 0 and 1");
+        }
+        return new PoissonProcess(-Math.log(1 - probability) / tickSeconds);
+    }
+
+    public double nextIntervalSeconds(Random random) {
+        return -Math.log(1 - random.nextDouble()) / ratePerSecond;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+}
@@ -0,0 +1,49 @@
+package simulation;
+
+import java.util.Random;
+
+/*
+The sources of randomness of the game, one per subsystem, all derived from one seed. A game started with the same seed
+makes the same random choices, and since every subsystem draws from its own stream, a subsystem that draws more or
+fewer numbers, e.g. an animation that depends on the frame rate, does not change the choices of the others.
+ */
+public enum RandomStream {
+
+    HAZARDS,        // which spikes, blades and rows are triggered
+    BLADES,         // the angles the blades rotate to
+    COLLECTIBLES,   // the tiles the coins, clocks and hearts appear on
+    ARRIVALS,       // the times at which hearts arrive
+    SCENERY;        // the flowers
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static long seed = System.nanoTime();
+
+    private final Random random = new Random();
+
+    static {
+        seedAll(seed);
+    }
+
+    public Random get() {
+        return random;
+    }
+
+    public static void seedAll(long seed) {    // restarts every stream, e.g. when a new game starts
+        RandomStream.seed = seed;
+        for (RandomStream stream : values()) {
+            stream.random.setSeed(mix(seed + (stream.ordinal() + 1) * GOLDEN_GAMMA));
+        }
+    }
+
+    public static long getSeed() {
+        return seed;
+    }
+
+    private static long mix(long z) {   // spreads the bits, so the seeds of the streams are unrelated to each other
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,270 @@
+package simulation;
+
+import concepts.Vector;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+A headless driver for the world model. It steps the same PlayerModel and ArenaModel that the JavaFX view mirrors, with
+spikes on the floor of every room, run the way RoomWithSpikes runs them: the tiles are picked and marked in TileStates,
+the spikes are triggered through a TimerWheel, come up and go down as the phase of an entity in an EntityStore, and the
+player is tested against them through a CollisionSet. It needs no toolkit, window or AnimationTimer pulse, so it runs as
+many ticks per second as the machine allows. Rooms are described only by their extents on the XZ plane, and have no
+walls, blades, projectiles or collectibles.
+ */
+public class Simulation {
+
+    public static final double COLLISION_CELL_SIZE = 500;   // as for the collision objects of the game
+
+    private static final double PLAYER_HALF_WIDTH = 31;    // about the extents of the body of the player on the XZ plane
+    private static final double SPIKES_BELOW_FLOOR = SpikesModel.HEIGHT / 20;  // as in FloorWithSpikes, so lowered spikes are not touched
+
+    private final class TileSpikes implements EntityStore.Owner {
+
+        private final SpikesFloor floor;
+        private final int entity;
+        private final double halfWidth;
+        private final double halfLength;
+
+        TileSpikes(SpikesFloor floor, double x, double z, double width, double length) {
+            this.floor = floor;
+            this.halfWidth = width / 2;
+            this.halfLength = length / 2;
+            entity = floor.hazards.add(this, x, SPIKES_BELOW_FLOOR, z);
+            floor.hazards.setDamaging(entity, true);
+            setRaise(0);
+        }
+
+        void raise() {
+            floor.hazards.startPhase(entity);
+        }
+
+        @Override
+        public void sync() {
+            final double seconds = floor.hazards.getPhase(entity);
+            setRaise(SpikesModel.raiseAt(seconds));
+            if (seconds >= SpikesModel.COME_DOWN_MOMENT) {
+                floor.hazards.stopPhase(entity);
+                floor.hazards.setDamaging(entity, true);
+            }
+        }
+
+        void lower() {
+            floor.hazards.stopPhase(entity);
+            floor.hazards.setDamaging(entity, true);
+            setRaise(0);
+        }
+
+        private void setRaise(double raise) {
+            floor.hazards.setShape(entity, -halfWidth, -raise, -halfLength, halfWidth, SpikesModel.HEIGHT - raise, halfLength);
+        }
+
+        Aabb getBounds(Aabb result) {
+            return floor.hazards.boundsOf(entity, result);
+        }
+
+        boolean isDamaging() {
+            return floor.hazards.isDamaging(entity);
+        }
+
+        void setDamaging(boolean damaging) {
+            floor.hazards.setDamaging(entity, damaging);
+        }
+
+    }
+
+    private final class SpikesFloor {
+
+        private final double minX;
+        private final double minZ;
+        private final double tileWidth;
+        private final double tileLength;
+        private final double timeToReact;
+
+        private final TileStates tiles;
+        private final EntityStore hazards;
+        private final TimerWheel scheduler = new TimerWheel(ArenaModel.TICK_SECONDS);
+        private final TileSpikes[] spikes;  // by tile
+
+        SpikesFloor(double minX, double minZ, double maxX, double maxZ, int tilesX, int tilesZ) {
+            this.minX = minX;
+            this.minZ = minZ;
+            tileWidth = (maxX - minX) / tilesX;
+            tileLength = (maxZ - minZ) / tilesZ;
+            timeToReact = SpikesModel.timeToReact(tileWidth, tileLength);
+            tiles = new TileStates(tilesX, tilesZ);
+            hazards = new EntityStore(minX, 0, minZ);
+            spikes = new TileSpikes[tilesX * tilesZ];
+            for (int i = 0; i < tilesX; i++) {
+                for (int j = 0; j < tilesZ; j++) {
+                    spikes[tiles.tileOf(i, j)] = new TileSpikes(this, (i + 0.5) * tileWidth, (j + 0.5) * tileLength, tileWidth, tileLength);
+                }
+            }
+        }
+
+        void scheduleArrivals() {   // as Room does, until the room is finished
+            scheduler.schedule(SpikesModel.ARRIVALS.nextIntervalSeconds(RandomStream.ARRIVALS.get()), () -> {
+                triggerSpikesOnRandomTile();
+                scheduleArrivals();
+            });
+        }
+
+        private void triggerSpikesOnRandomTile() {  // as FloorWithSpikes does, without the colors of the tiles
+            final int i = RandomStream.HAZARDS.get().nextInt(tiles.getTilesX());
+            final int j = RandomStream.HAZARDS.get().nextInt(tiles.getTilesZ());
+            if (tiles.isOccupied(i, j) || tiles.isActive(i, j)) {
+                return;
+            }
+            tiles.setActive(i, j, true);
+            scheduler.schedule(timeToReact, spikes[tiles.tileOf(i, j)]::raise);
+            scheduler.schedule(timeToReact + SpikesModel.COME_DOWN_MOMENT, () -> tiles.setActive(i, j, false));
+        }
+
+        void update() {
+            hazards.update(ArenaModel.TICK_SECONDS);
+            scheduler.advance();
+        }
+
+        void finish() {
+            scheduler.clear();
+            hazards.halt();
+            tiles.clearActive();
+            for (TileSpikes s : spikes) {
+                s.lower();
+            }
+        }
+
+        boolean isActive(double x, double z) {  // whether the tile at the given point is marked or its spikes are up
+            final int i = (int) Math.floor((x - minX) / tileWidth);
+            final int j = (int) Math.floor((z - minZ) / tileLength);
+            return i >= 0 && i < tiles.getTilesX() && j >= 0 && j < tiles.getTilesZ() && tiles.isActive(i, j);
+        }
+
+    }
+
+    private final PlayerModel player;
+    private final ArenaModel arena;
+    private final PlayerInput input = new PlayerInput();
+
+    private final double[] roomMinX;
+    private final double[] roomMaxX;
+    private final double[] roomMinZ;
+    private final double[] roomMaxZ;
+
+    private final SpikesFloor[] floors;
+    private final CollisionSet<TileSpikes> collisionObjects = new CollisionSet<>(COLLISION_CELL_SIZE, this::boundsOf);
+    private final List<TileSpikes> collisionCandidates = new ArrayList<>();
+    private final Aabb playerBounds = new Aabb();
+    private final Aabb spikesBounds = new Aabb();
+    private final Aabb registeredBounds = new Aabb();
+
+    private long tick = 0;
+    private int hits = 0;
+
+    public Simulation(Vector playerStartPosition, double[][] roomExtents, int tilesX, int tilesZ, boolean testMode) {  // each room extent is {minX, minZ, maxX, maxZ}
+        this.player = new PlayerModel(playerStartPosition, testMode);
+        this.arena = new ArenaModel(roomExtents.length, testMode);
+        roomMinX = new double[roomExtents.length];
+        roomMinZ = new double[roomExtents.length];
+        roomMaxX = new double[roomExtents.length];
+        roomMaxZ = new double[roomExtents.length];
+        floors = new SpikesFloor[roomExtents.length];
+        for (int i = 0; i < roomExtents.length; i++) {
+            roomMinX[i] = roomExtents[i][0];
+            roomMinZ[i] = roomExtents[i][1];
+            roomMaxX[i] = roomExtents[i][2];
+            roomMaxZ[i] = roomExtents[i][3];
+            floors[i] = new SpikesFloor(roomMinX[i], roomMinZ[i], roomMaxX[i], roomMaxZ[i], tilesX, tilesZ);
+            for (TileSpikes s : floors[i].spikes) {
+                collisionObjects.add(s, false);     // only their height changes, and only the XZ extents are registered
+            }
+        }
+    }
+
+    public void tick() {    // in the order of a tick of the game
+        ++tick;
+        input.applyTo(player);
+        input.clear();
+        player.step();
+        checkForCollisions();
+
+        if (arena.isOver()) {
+            return;
+        }
+        final SpikesFloor floor = floors[arena.getCurrentRoomIndex()];
+        if (arena.isRoomOngoing()) {
+            floor.update();
+            if (arena.advanceTime(ArenaModel.TICK_SECONDS) == ArenaModel.TimeEvent.ROOM_FINISHED) {
+                floor.finish();
+                for (TileSpikes s : floor.spikes) {
+                    collisionObjects.remove(s);
+                }
+                arena.advanceToNextRoom();
+            }
+        } else if (isInsideRoom(arena.getCurrentRoomIndex(), player.getX(), player.getZ())) {
+            arena.enterRoom();
+            floor.scheduleArrivals();
+        }
+    }
+
+    private void checkForCollisions() {
+        collisionObjects.applyChanges();
+        playerBounds.set(player.getX() - PLAYER_HALF_WIDTH, -PlayerModel.HEIGHT, player.getZ() - PLAYER_HALF_WIDTH,
+                player.getX() + PLAYER_HALF_WIDTH, 0, player.getZ() + PLAYER_HALF_WIDTH);
+        collisionObjects.query(playerBounds, collisionCandidates);
+        for (TileSpikes s : collisionCandidates) {
+            if (s.getBounds(spikesBounds).intersects(playerBounds)) {
+                if (s.isDamaging()) {
+                    ++hits;
+                    player.setLives(player.getLives() - 1);
+                    s.setDamaging(false);   // set back once the spikes are down
+                    if (player.getLives() == 0) {
+                        arena.end(false);
+                    }
+                }
+                player.revertToLastValidPosition();
+                break;
+            }
+        }
+        player.commitPosition();
+    }
+
+    private Aabb boundsOf(TileSpikes spikes) {
+        return spikes.getBounds(registeredBounds);
+    }
+
+    public void run(long ticks) {
+        for (long i = 0; i < ticks && !arena.isOver(); i++) {
+            tick();
+        }
+    }
+
+    public boolean isInsideRoom(int roomIndex, double x, double z) {
+        return x >= roomMinX[roomIndex] && x <= roomMaxX[roomIndex] && z >= roomMinZ[roomIndex] && z <= roomMaxZ[roomIndex];
+    }
+
+    public boolean isTileActive(double x, double z) {   // in the current room, whether spikes are about to come up or are up at the given point
+        return !arena.isOver() && floors[arena.getCurrentRoomIndex()].isActive(x, z);
+    }
+
+    public PlayerModel getPlayer() {
+        return player;
+    }
+
+    public ArenaModel getArena() {
+        return arena;
+    }
+
+    public PlayerInput getInput() { // applied at the start of the next tick, e.g. from an InputReplay
+        return input;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+}
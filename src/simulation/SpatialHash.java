@@ -0,0 +1,243 @@
+package simulation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/*
+A uniform grid on the XZ plane, stored as a hash table of cells keyed on the cell coordinates. Objects are registered
+once with their XZ extents and can then be found by querying an area; the cost of a query depends only on the number of
+objects in the cells that the area covers, not on the total number of registered objects.
+ */
+public class SpatialHash<T> {
+
+    private static final int INITIAL_TABLE_SIZE = 256;  // must be a power of 2
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    private final double cellSize;
+
+    private long[] keys = new long[INITIAL_TABLE_SIZE];
+    private Cell[] cells = new Cell[INITIAL_TABLE_SIZE];
+    private int usedCells = 0;
+
+    private final IdentityHashMap<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final ArrayDeque<Entry<T>> freeEntries = new ArrayDeque<>();  // removed entries are reused, since objects are often removed and added again
+    private int queryStamp = 0;
+
+    private static final class Cell {
+
+        private Entry<?>[] items = new Entry<?>[INITIAL_CELL_CAPACITY];
+        private int count = 0;
+
+        private void add(Entry<?> entry) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+            }
+            items[count++] = entry;
+        }
+
+        private void remove(Entry<?> entry) {
+            for (int i = 0; i < count; i++) {
+                if (items[i] == entry) {
+                    items[i] = items[--count];
+                    items[count] = null;
+                    return;
+                }
+            }
+        }
+
+    }
+
+    private static final class Entry<T> {
+
+        private T object;
+        private int minCellX, minCellZ, maxCellX, maxCellZ;
+        private int stamp = 0;  // prevents reporting an object more than once per query
+
+        private Entry(T object) {
+            this.object = object;
+        }
+
+    }
+
+    public SpatialHash(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("The cell size must be a positive number");
+        }
+        this.cellSize = cellSize;
+    }
+
+    public void insert(T object, double minX, double minZ, double maxX, double maxZ) {
+        if (entries.containsKey(object)) {
+            update(object, minX, minZ, maxX, maxZ);
+            return;
+        }
+        Entry<T> entry = freeEntries.poll();
+        if (entry == null) {
+            entry = new Entry<>(object);
+        } else {
+            entry.object = object;
+        }
+        setCellRange(entry, minX, minZ, maxX, maxZ);
+        addToCells(entry);
+        entries.put(object, entry);
+    }
+
+    public void update(T object, double minX, double minZ, double maxX, double maxZ) {
+        Entry<T> entry = entries.get(object);
+        if (entry == null) {
+            insert(object, minX, minZ, maxX, maxZ);
+            return;
+        }
+        if (entry.minCellX == cellIndex(minX) && entry.minCellZ == cellIndex(minZ)
+                && entry.maxCellX == cellIndex(maxX) && entry.maxCellZ == cellIndex(maxZ)) {
+            return; // still in the same cells
+        }
+        removeFromCells(entry);
+        setCellRange(entry, minX, minZ, maxX, maxZ);
+        addToCells(entry);
+    }
+
+    public boolean remove(T object) {
+        Entry<T> entry = entries.remove(object);
+        if (entry == null) {
+            return false;
+        }
+        removeFromCells(entry);
+        entry.object = null;
+        freeEntries.push(entry);
+        return true;
+    }
+
+    public boolean contains(T object) {
+        return entries.containsKey(object);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        Arrays.fill(cells, null);
+        usedCells = 0;
+        entries.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void query(double minX, double minZ, double maxX, double maxZ, List<T> result) {
+        result.clear();
+        final int stamp = ++queryStamp;
+        final int minCellX = cellIndex(minX), maxCellX = cellIndex(maxX);
+        final int minCellZ = cellIndex(minZ), maxCellZ = cellIndex(maxZ);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                Cell cell = findCell(cx, cz);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.count; i++) {
+                    Entry<T> entry = (Entry<T>) cell.items[i];
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        result.add(entry.object);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cellIndex(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private void setCellRange(Entry<T> entry, double minX, double minZ, double maxX, double maxZ) {
+        entry.minCellX = cellIndex(minX);
+        entry.minCellZ = cellIndex(minZ);
+        entry.maxCellX = cellIndex(maxX);
+        entry.maxCellZ = cellIndex(maxZ);
+    }
+
+    private void addToCells(Entry<T> entry) {
+        for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+            for (int cz = entry.minCellZ; cz <= entry.maxCellZ; cz++) {
+                getOrCreateCell(cx, cz).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+            for (int cz = entry.minCellZ; cz <= entry.maxCellZ; cz++) {
+                Cell cell = findCell(cx, cz);
+                if (cell != null) {
+                    cell.remove(entry);
+                }
+            }
+        }
+    }
+
+    //================================================================================
+    // Open addressing table of cells
+    //================================================================================
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private Cell findCell(int cx, int cz) {
+        final long key = key(cx, cz);
+        final int mask = cells.length - 1;
+        for (int i = hash(key) & mask; cells[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return cells[i];
+            }
+        }
+        return null;
+    }
+
+    private Cell getOrCreateCell(int cx, int cz) {
+        final long key = key(cx, cz);
+        int mask = cells.length - 1;
+        int i = hash(key) & mask;
+        for (; cells[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return cells[i];
+            }
+        }
+        if ((usedCells + 1) * 2 > cells.length) {   // keeps the load factor below 0.5
+            grow();
+            return getOrCreateCell(cx, cz);
+        }
+        Cell cell = new Cell();
+        keys[i] = key;
+        cells[i] = cell;
+        ++usedCells;
+        return cell;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Cell[] oldCells = cells;
+        keys = new long[oldKeys.length * 2];
+        cells = new Cell[oldCells.length * 2];
+        final int mask = cells.length - 1;
+        for (int j = 0; j < oldCells.length; j++) {
+            if (oldCells[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (cells[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                cells[i] = oldCells[j];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package simulation;
+
+/*
+When the spikes of a tile come up and go down, shared by the spikes in the scene and by the headless simulation. A tile
+is marked first, long enough for the player to walk off it, then its spikes come up, stay up for a while and go down
+again. The raise follows from the time since the spikes were triggered alone, so it only changes with the ticks.
+ */
+public final class SpikesModel {
+
+    public static final double HEIGHT = 240;
+
+    // for transition durations
+    public static final double COME_UP_TIME = 0.25;
+    public static final double STAY_UP_TIME = 0.75;
+    public static final double COME_DOWN_TIME = 0.25;
+
+    // in seconds since the spikes were triggered
+    public static final double COME_UP_MOMENT = COME_UP_TIME;
+    public static final double STAY_UP_MOMENT = COME_UP_MOMENT + STAY_UP_TIME;
+    public static final double COME_DOWN_MOMENT = STAY_UP_MOMENT + COME_DOWN_TIME;
+
+    public static final double FIXED_ADDITIONAL_REACT_TIME_SEC = 0.5;
+
+    public static final PoissonProcess ARRIVALS = PoissonProcess.fromProbabilityPerTick(0.023, ArenaModel.TICK_SECONDS);
+
+    private SpikesModel() {
+    }
+
+    public static double timeToReact(double tileWidth, double tileLength) {   // the warning before the spikes of a tile come up
+        return FIXED_ADDITIONAL_REACT_TIME_SEC + Math.min(tileWidth, tileLength) / PlayerModel.WALK_SPEED / 60;   // the walk speed is per tick, 60 ticks per second
+    }
+
+    public static double raiseAt(double seconds) {  // the raise at the given time after triggering
+        if (seconds <= 0 || seconds >= COME_DOWN_MOMENT) {
+            return 0;
+        } else if (seconds < COME_UP_MOMENT) {
+            return HEIGHT * easeBoth(seconds / COME_UP_TIME);
+        } else if (seconds < STAY_UP_MOMENT) {
+            return HEIGHT;
+        } else {
+            return HEIGHT - HEIGHT * easeBoth((seconds - STAY_UP_MOMENT) / COME_DOWN_TIME);
+        }
+    }
+
+    private static double easeBoth(double t) {  // the curve of javafx.animation.Interpolator.EASE_BOTH, which this package does not use
+        final double eased = t < 0.2 ? 3.125 * t * t : t > 0.8 ? -3.125 * t * t + 6.25 * t - 2.125 : 1.25 * t - 0.125;
+        return Math.max(0, Math.min(1, eased));
+    }
+
+}
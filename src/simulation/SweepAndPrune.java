@@ -0,0 +1,138 @@
+package simulation;
+
+import java.util.Arrays;
+
+/*
+Sort-and-sweep broadphase along the X axis. The items are kept sorted by the lower end of their X intervals between
+sweeps, so the insertion sort that restores the order is close to linear when the items move only a little from one
+frame to the next. Only pairs with at least one moving item are reported, since static items never collide with each
+other.
+ */
+public class SweepAndPrune<T> {
+
+    public interface BoundsProvider<T> {
+
+        Aabb boundsOf(T item);
+
+    }
+
+    public interface OverlapHandler<T> {
+
+        void overlap(T a, T b);
+
+    }
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final BoundsProvider<T> boundsProvider;
+
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private boolean[] moving = new boolean[INITIAL_CAPACITY];
+    private double[] minX = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY];
+    private int count = 0;
+
+    public SweepAndPrune(BoundsProvider<T> boundsProvider) {
+        this.boundsProvider = boundsProvider;
+    }
+
+    public void add(T item, boolean isMoving) {
+        if (indexOf(item) >= 0) {
+            return;
+        }
+        if (count == items.length) {
+            final int capacity = count * 2;
+            items = Arrays.copyOf(items, capacity);
+            moving = Arrays.copyOf(moving, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+        }
+        Aabb bounds = boundsProvider.boundsOf(item);
+        items[count] = item;
+        moving[count] = isMoving;
+        minX[count] = bounds.getMinX();
+        maxX[count] = bounds.getMaxX();
+        ++count;
+    }
+
+    public boolean remove(T item) {
+        final int index = indexOf(item);
+        if (index < 0) {
+            return false;
+        }
+        // shifting keeps the rest of the items sorted
+        final int tail = count - index - 1;
+        System.arraycopy(items, index + 1, items, index, tail);
+        System.arraycopy(moving, index + 1, moving, index, tail);
+        System.arraycopy(minX, index + 1, minX, index, tail);
+        System.arraycopy(maxX, index + 1, maxX, index, tail);
+        items[--count] = null;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, count, null);
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void sweep(OverlapHandler<T> handler) {
+        refreshAndSort();
+        for (int i = 0; i < count; i++) {
+            final double end = maxX[i];
+            Aabb bounds = null;
+            for (int j = i + 1; j < count && minX[j] <= end; j++) {
+                if (!moving[i] && !moving[j]) {
+                    continue;
+                }
+                if (bounds == null) {
+                    bounds = boundsProvider.boundsOf((T) items[i]);
+                }
+                if (bounds.intersects(boundsProvider.boundsOf((T) items[j]))) {
+                    handler.overlap((T) items[i], (T) items[j]);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void refreshAndSort() {
+        for (int i = 0; i < count; i++) {
+            Aabb bounds = boundsProvider.boundsOf((T) items[i]);
+            minX[i] = bounds.getMinX();
+            maxX[i] = bounds.getMaxX();
+        }
+        for (int i = 1; i < count; i++) {   // insertion sort
+            final Object item = items[i];
+            final boolean itemMoving = moving[i];
+            final double itemMinX = minX[i];
+            final double itemMaxX = maxX[i];
+            int j = i - 1;
+            while (j >= 0 && minX[j] > itemMinX) {
+                items[j + 1] = items[j];
+                moving[j + 1] = moving[j];
+                minX[j + 1] = minX[j];
+                maxX[j + 1] = maxX[j];
+                --j;
+            }
+            items[j + 1] = item;
+            moving[j + 1] = itemMoving;
+            minX[j + 1] = itemMinX;
+            maxX[j + 1] = itemMaxX;
+        }
+    }
+
+    private int indexOf(T item) {
+        for (int i = 0; i < count; i++) {
+            if (items[i] == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,177 @@
+package simulation;
+
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+/*
+State of the tiles of one floor. Occupied, hazard-active and player-covered tiles are kept in bitsets indexed by
+i * tilesZ + j, and the tiles with none of these bits set are kept in a dense array with the position of each tile in
+it, so a random free tile is picked and a tile is freed or taken in constant time whatever the size of the grid. The
+object standing on each occupied tile is indexed both ways, so an object is removed from its tile without a search.
+ */
+public class TileStates {
+
+    public static final int NO_TILE = -1;
+
+    private final int tilesX;
+    private final int tilesZ;
+
+    private final long[] occupied;
+    private final long[] active;
+    private final long[] playerCovered;
+
+    private final Object[] objectOnTile;
+    private final IdentityHashMap<Object, Integer> tileOfObject = new IdentityHashMap<>();
+    private final Integer[] boxedTiles;    // so that indexing an object does not box its tile every time
+
+    private final int[] freeTiles;
+    private final int[] freePosition;  // position of each tile in freeTiles, or NO_TILE if it is not free
+    private int freeCount;
+
+    private int playerTile = NO_TILE;
+
+    public TileStates(int tilesX, int tilesZ) {
+        if (tilesX <= 0 || tilesZ <= 0) {
+            throw new IllegalArgumentException("The number of tiles in rows and columns must be positive");
+        }
+        this.tilesX = tilesX;
+        this.tilesZ = tilesZ;
+        final int count = tilesX * tilesZ;
+        final int words = (count + 63) >>> 6;
+        occupied = new long[words];
+        active = new long[words];
+        playerCovered = new long[words];
+        objectOnTile = new Object[count];
+        boxedTiles = new Integer[count];
+        freeTiles = new int[count];
+        freePosition = new int[count];
+        for (int t = 0; t < count; t++) {
+            boxedTiles[t] = t;
+            freeTiles[t] = t;
+            freePosition[t] = t;
+        }
+        freeCount = count;
+    }
+
+    public int tileOf(int i, int j) {
+        return i * tilesZ + j;
+    }
+
+    public int tileX(int tile) {
+        return tile / tilesZ;
+    }
+
+    public int tileZ(int tile) {
+        return tile % tilesZ;
+    }
+
+    public boolean isOccupied(int i, int j) {
+        return get(occupied, tileOf(i, j));
+    }
+
+    public boolean isActive(int i, int j) {
+        return get(active, tileOf(i, j));
+    }
+
+    public boolean isFree(int i, int j) {
+        return freePosition[tileOf(i, j)] != NO_TILE;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public void occupy(int i, int j, Object object) {
+        final int tile = tileOf(i, j);
+        if (get(occupied, tile)) {
+            throw new IllegalArgumentException("Tile (" + i + ", " + j + ") is already occupied");
+        }
+        if (tileOfObject.containsKey(object)) {
+            throw new IllegalArgumentException("The object already occupies a tile");
+        }
+        objectOnTile[tile] = object;
+        tileOfObject.put(object, boxedTiles[tile]);
+        set(occupied, tile, true);
+    }
+
+    public boolean vacate(Object object) {
+        final Integer tile = tileOfObject.remove(object);
+        if (tile == null) {
+            return false;
+        }
+        objectOnTile[tile] = null;
+        set(occupied, tile, false);
+        return true;
+    }
+
+    public Object getObject(int i, int j) {
+        return objectOnTile[tileOf(i, j)];
+    }
+
+    public void setActive(int i, int j, boolean isActive) {
+        set(active, tileOf(i, j), isActive);
+    }
+
+    public void setPlayerTile(int tile) {   // NO_TILE when the player is not above the floor
+        if (playerTile != NO_TILE) {
+            set(playerCovered, playerTile, false);
+        }
+        playerTile = tile;
+        if (tile != NO_TILE) {
+            set(playerCovered, tile, true);
+        }
+    }
+
+    public int randomFreeTile(Random random) {
+        return freeCount == 0 ? NO_TILE : freeTiles[random.nextInt(freeCount)];
+    }
+
+    public void clearActive() {
+        for (int w = 0; w < active.length; w++) {
+            long bits = active[w];
+            active[w] = 0;
+            while (bits != 0) {
+                updateFree((w << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static boolean get(long[] bits, int tile) {
+        return (bits[tile >>> 6] & (1L << tile)) != 0;
+    }
+
+    private void set(long[] bits, int tile, boolean value) {
+        if (value) {
+            bits[tile >>> 6] |= 1L << tile;
+        } else {
+            bits[tile >>> 6] &= ~(1L << tile);
+        }
+        updateFree(tile);
+    }
+
+    private void updateFree(int tile) {
+        final int w = tile >>> 6;
+        final long mask = 1L << tile;
+        final boolean free = ((occupied[w] | active[w] | playerCovered[w]) & mask) == 0;
+        final int position = freePosition[tile];
+        if (free && position == NO_TILE) {
+            freeTiles[freeCount] = tile;
+            freePosition[tile] = freeCount++;
+        } else if (!free && position != NO_TILE) {  // the last free tile takes its place
+            final int last = freeTiles[--freeCount];
+            freeTiles[position] = last;
+            freePosition[last] = position;
+            freePosition[tile] = NO_TILE;
+        }
+    }
+
+    public int getTilesX() {
+        return tilesX;
+    }
+
+    public int getTilesZ() {
+        return tilesZ;
+    }
+
+}
@@ -0,0 +1,176 @@
+package simulation;
+
+/*
+A hierarchical timer wheel driven by the simulation tick. Each level has 64 slots, and a slot of a level spans as many
+ticks as the whole level below it. Timers far in the future are kept in the higher levels and cascade down as their
+time approaches. Scheduling and cancelling cost O(1), and a tick only touches the timers that are due, plus, once every
+64 ticks, the timers of a higher level slot that are moved down. Idle tiles or rooms therefore cost nothing per tick.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;  // timers further away are moved down a level early and re-placed
+
+    public final class Timer {
+
+        private final Runnable task;
+        private long expiry;
+        private int level = -1;    // -1 when not scheduled
+        private boolean cancelled = false;
+        private int slot;
+        private Timer previous;
+        private Timer next;
+
+        private Timer(Runnable task) {
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            cancelled = true;   // also covers a timer that is due in the tick being processed
+            if (level < 0) {
+                return false;
+            }
+            unlink(this);
+            return true;
+        }
+
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+    }
+
+    private final double tickSeconds;
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+    private long now = 0;  // the last tick that was processed
+    private int size = 0;
+
+    public TimerWheel(double tickSeconds) {
+        if (tickSeconds <= 0) {
+            throw new IllegalArgumentException("The tick duration must be a positive number");
+        }
+        this.tickSeconds = tickSeconds;
+    }
+
+    public Timer schedule(long delayTicks, Runnable task) {    // delays shorter than one tick run on the next tick
+        Timer timer = new Timer(task);
+        timer.expiry = now + Math.max(1, delayTicks);
+        link(timer);
+        return timer;
+    }
+
+    public Timer schedule(double delaySeconds, Runnable task) {
+        return schedule(toTicks(delaySeconds), task);
+    }
+
+    public long toTicks(double seconds) {
+        return Math.round(seconds / tickSeconds);
+    }
+
+    public void advance() {
+        ++now;
+        if ((now & SLOT_MASK) == 0) {
+            cascade(1);
+        }
+        Timer timer = detachSlot(0, (int) (now & SLOT_MASK));
+        while (timer != null) {
+            final Timer next = timer.next;
+            timer.previous = timer.next = null;
+            if (!timer.cancelled) {
+                timer.task.run();  // the task may schedule new timers, which always land in later slots
+            }
+            timer = next;
+        }
+    }
+
+    public void clear() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer timer = detachSlot(level, slot);
+                while (timer != null) {
+                    final Timer next = timer.next;
+                    timer.previous = timer.next = null;
+                    timer = next;
+                }
+            }
+        }
+    }
+
+    public long getTick() {
+        return now;
+    }
+
+    public double getTickSeconds() {
+        return tickSeconds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        final int slot = (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (slot == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        Timer timer = detachSlot(level, slot);
+        while (timer != null) {
+            final Timer next = timer.next;
+            timer.previous = timer.next = null;
+            link(timer);
+            timer = next;
+        }
+    }
+
+    private void link(Timer timer) {
+        final long delay = timer.expiry - now;
+        int level = 0;
+        long slotTime = timer.expiry;
+        if (delay > MAX_DELAY_TICKS) {
+            level = LEVELS - 1;
+            slotTime = now + MAX_DELAY_TICKS;
+        } else {
+            while (delay >= 1L << (SLOT_BITS * (level + 1))) {
+                ++level;
+            }
+        }
+        final int slot = (int) ((slotTime >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timer.level = level;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = slots[level][slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[level][slot] = timer;
+        ++size;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = timer.next = null;
+        timer.level = -1;
+        --size;
+    }
+
+    private Timer detachSlot(int level, int slot) {    // the detached timers stay chained through next
+        Timer head = slots[level][slot];
+        slots[level][slot] = null;
+        for (Timer timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+            --size;
+        }
+        return head;
+    }
+
+}